@@ -0,0 +1,118 @@
+package com.atlassian.actor.benchmark;
+
+import com.atlassian.actor.AbstractActor;
+import com.atlassian.actor.ActorRef;
+import com.atlassian.actor.ActorSystem;
+import com.atlassian.actor.Receive;
+import com.atlassian.actor.ReceiveBuilder;
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorSystemConfig;
+import com.atlassian.actor.config.MailboxConfig;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures the retained heap of an idle actor, i.e. an actor which is started &amp; has no messages in its mailbox.
+ * The result is reported as the bytesPerIdleActor secondary metric.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ActorFootprintBenchmark}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ActorFootprintBenchmark {
+    private static final int ACTORS = 100_000;
+    private static final String PING = "ping";
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private ActorSystem actorSystem;
+    private final List<ActorRef> actorRefs = new ArrayList<>(ACTORS);
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerIdleActor;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        actorSystem = ActorSystem.create("FootprintSystem", new ActorSystemConfig(Schedulers.parallel()));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        actorRefs.clear();
+        actorSystem.terminate();
+        while (!actorSystem.isTerminated()) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Benchmark
+    public void idleActors(Footprint footprint) throws Exception {
+        MailboxConfig mailboxConfig = compact
+                ? MailboxConfig.defaultMailbox().withCompactFootprint()
+                : MailboxConfig.defaultMailbox();
+        long before = usedHeap();
+        for (int i = 0; i < ACTORS; i++) {
+            actorRefs.add(actorSystem.actorOf(
+                    IdleActor::new,
+                    new ActorConfig("actor-" + i, Collections.emptyList(), Integer.MAX_VALUE, mailboxConfig)
+            ));
+        }
+        // ask is processed after Init, so all actors are started once they reply.
+        for (ActorRef actorRef : actorRefs) {
+            actorRef.ask(PING, 10_000);
+        }
+        footprint.bytesPerIdleActor = (usedHeap() - before) / ACTORS;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static class IdleActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .matchAny((m, r) -> {
+                        if (r != null) {
+                            r.setObject(m);
+                        }
+                    })
+                    .build();
+        }
+
+        @Override
+        public void postStop() {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.atlassian.actor.benchmark;
+
+import com.atlassian.actor.AbstractActor;
+import com.atlassian.actor.ActorRef;
+import com.atlassian.actor.ActorSystem;
+import com.atlassian.actor.Receive;
+import com.atlassian.actor.ReceiveBuilder;
+import com.atlassian.actor.Responder;
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorSystemConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures request/reply. ask is the round trip through an actor, while responder &amp; latchResponder compare the
+ * promise alone against the previous CountDownLatch based implementation.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=AskBenchmark -PjmhProfilers=gc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AskBenchmark {
+    private static final String PING = "ping";
+
+    private ActorSystem actorSystem;
+    private ActorRef actorRef;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        actorSystem = ActorSystem.create("AskSystem", new ActorSystemConfig(Schedulers.parallel()));
+        actorRef = actorSystem.actorOf(EchoActor::new, new ActorConfig("EchoActor"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        actorSystem.terminate();
+    }
+
+    @Benchmark
+    public Object ask() throws Exception {
+        return actorRef.ask(PING, 1000);
+    }
+
+    @Benchmark
+    public Object responder() throws Exception {
+        Responder responder = new Responder();
+        responder.setObject(PING);
+        return responder.waitForObject(1000L);
+    }
+
+    @Benchmark
+    public Object latchResponder() throws Exception {
+        LatchResponder responder = new LatchResponder();
+        responder.setObject(PING);
+        return responder.waitForObject(1000L);
+    }
+
+    /**
+     * The previous Responder implementation, kept as the baseline.
+     */
+    private static class LatchResponder {
+        private final AtomicReference<Object> reference = new AtomicReference<>();
+        private final AtomicBoolean waitCalled = new AtomicBoolean(false);
+        private final AtomicBoolean setCalled = new AtomicBoolean(false);
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        Object waitForObject(long timeOut) throws Exception {
+            if (!waitCalled.compareAndSet(false, true)) {
+                throw new IllegalStateException("method should only be called once");
+            }
+            if (!latch.await(timeOut, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out");
+            }
+            return reference.get();
+        }
+
+        void setObject(Object obj) {
+            if (setCalled.compareAndSet(false, true)) {
+                reference.set(obj);
+                latch.countDown();
+            }
+        }
+    }
+
+    public static class EchoActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .matchAny((m, r) -> r.setObject(m))
+                    .build();
+        }
+
+        @Override
+        public void postStop() {
+        }
+    }
+}
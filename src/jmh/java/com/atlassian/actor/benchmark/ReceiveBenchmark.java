@@ -0,0 +1,132 @@
+package com.atlassian.actor.benchmark;
+
+import com.atlassian.actor.ActorConsumer;
+import com.atlassian.actor.Receive;
+import com.atlassian.actor.ReceiveBuilder;
+import com.atlassian.actor.Responder;
+import com.atlassian.actor.model.MatchTuple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the dispatch of a message to its handler, without the mailbox. table is the default per class dispatch
+ * table of {@link Receive} &amp; linear is the previous scan of the match predicates in order.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ReceiveBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReceiveBenchmark {
+    private static final Object[] MESSAGES = {
+            new Message1(), new Message2(), new Message3(), new Message4(),
+            new Message5(), new Message6(), new Message7(), new Message8()
+    };
+
+    @Param({"table", "linear"})
+    public String dispatch;
+
+    private Receive receive;
+    private int index;
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        // distinct handlers, like the handlers of a real actor.
+        List<ActorConsumer<Object>> handlers = new ArrayList<>();
+        handlers.add((m, r) -> blackhole.consume(m));
+        handlers.add((m, r) -> blackhole.consume(m));
+        handlers.add((m, r) -> blackhole.consume(m));
+        handlers.add((m, r) -> blackhole.consume(m));
+        handlers.add((m, r) -> blackhole.consume(m));
+        handlers.add((m, r) -> blackhole.consume(m));
+        handlers.add((m, r) -> blackhole.consume(m));
+        handlers.add((m, r) -> blackhole.consume(m));
+        ReceiveBuilder builder = ReceiveBuilder.create();
+        List<MatchTuple> matches = new ArrayList<>();
+        for (int i = 0; i < MESSAGES.length; i++) {
+            Class<Object> type = (Class<Object>) MESSAGES[i].getClass();
+            builder.match(type, handlers.get(i));
+            matches.add(new MatchTuple(type::isInstance, handlers.get(i)));
+        }
+        if ("linear".equals(dispatch)) {
+            receive = new LinearReceive(matches);
+        } else {
+            receive = builder.build();
+        }
+    }
+
+    /**
+     * Messages of all the types in turn, so none of the dispatch call sites stays monomorphic.
+     */
+    @Benchmark
+    public void process() throws Exception {
+        int next = index;
+        index = (next + 1) & (MESSAGES.length - 1);
+        receive.process(MESSAGES[next], null);
+    }
+
+    /**
+     * The dispatch of Receive before the dispatch table, kept as a baseline.
+     */
+    private static final class LinearReceive extends Receive {
+        private final List<MatchTuple> matches;
+
+        LinearReceive(List<MatchTuple> matches) {
+            super(new ArrayList<>());
+            this.matches = matches;
+        }
+
+        @Override
+        public void process(Object message, Responder responder) throws Exception {
+            Optional<MatchTuple> match = matches.stream()
+                    .filter(matchTuple -> matchTuple.getPredicate().test(message))
+                    .findFirst();
+            if (match.isPresent()) {
+                match.get().getAction().accept(message, responder);
+            }
+        }
+    }
+
+    public static class Message1 {
+    }
+
+    public static class Message2 {
+    }
+
+    public static class Message3 {
+    }
+
+    public static class Message4 {
+    }
+
+    public static class Message5 {
+    }
+
+    public static class Message6 {
+    }
+
+    public static class Message7 {
+    }
+
+    public static class Message8 {
+    }
+}
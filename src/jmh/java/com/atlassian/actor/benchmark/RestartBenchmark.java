@@ -0,0 +1,128 @@
+package com.atlassian.actor.benchmark;
+
+import com.atlassian.actor.AbstractActor;
+import com.atlassian.actor.ActorRef;
+import com.atlassian.actor.ActorSystem;
+import com.atlassian.actor.Receive;
+import com.atlassian.actor.ReceiveBuilder;
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorSystemConfig;
+import com.atlassian.actor.model.RestartMode;
+import com.atlassian.actor.model.SupervisorStrategyDirective;
+import com.atlassian.actor.supervision.strategy.OneForOneSupervisorStrategy;
+import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a failure &amp; restart of an actor with a warm cache, followed by a request it answers from the cache.
+ * RECREATE creates a new instance which rebuilds the cache in preStart, RESET keeps the instance &amp; its cache.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=RestartBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestartBenchmark {
+    private static final String FAIL = "fail";
+    private static final int CACHE_SIZE = 10_000;
+
+    @Param({"RECREATE", "RESET"})
+    public RestartMode restartMode;
+
+    private ActorSystem actorSystem;
+    private ActorRef actorRef;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        actorSystem = ActorSystem.create("RestartSystem", new ActorSystemConfig(Schedulers.parallel()));
+        SupervisorStrategy strategy = new OneForOneSupervisorStrategy(e -> SupervisorStrategyDirective.RESTART)
+                .withRestartMode(restartMode);
+        ActorRef supervisor = actorSystem.actorOf(() -> new SupervisorActor(strategy), new ActorConfig("Supervisor"));
+        actorRef = supervisor.actorOf(CachingActor::new, new ActorConfig("CachingActor"));
+        actorRef.ask(0, 10_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        actorSystem.terminate();
+    }
+
+    @Benchmark
+    public Object restartAndAsk() throws Exception {
+        actorRef.tell(FAIL);
+        // the ask is stashed while the actor is paused, so it's answered once the restart is done.
+        return actorRef.ask(CACHE_SIZE - 1, 10_000);
+    }
+
+    public static class SupervisorActor extends AbstractActor {
+        private final SupervisorStrategy strategy;
+
+        SupervisorActor(SupervisorStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create().build();
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public SupervisorStrategy supervisorStrategy() {
+            return strategy;
+        }
+    }
+
+    public static class CachingActor extends AbstractActor {
+        private final Map<Integer, String> cache = new HashMap<>();
+
+        @Override
+        public void preStart() {
+            // stands for a cache which is expensive to warm up.
+            for (int i = 0; i < CACHE_SIZE; i++) {
+                cache.put(i, "value-" + Integer.toHexString(i));
+            }
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(Integer.class, (key, responder) -> responder.setObject(cache.get(key)))
+                    .match(String.class, (message, responder) -> {
+                        throw new IllegalStateException(message);
+                    })
+                    .build();
+        }
+
+        @Override
+        public void postStop() {
+            cache.clear();
+        }
+    }
+}
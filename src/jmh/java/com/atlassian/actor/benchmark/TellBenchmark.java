@@ -0,0 +1,89 @@
+package com.atlassian.actor.benchmark;
+
+import com.atlassian.actor.AbstractActor;
+import com.atlassian.actor.ActorRef;
+import com.atlassian.actor.ActorSystem;
+import com.atlassian.actor.Receive;
+import com.atlassian.actor.ReceiveBuilder;
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorSystemConfig;
+import com.atlassian.actor.config.MailboxConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+
+/**
+ * Measures the cost of a tell to a busy actor. Compare the gc.alloc.rate.norm metric of the mailboxes with
+ * {@code ./gradlew jmh -PjmhIncludes=TellBenchmark -PjmhProfilers=gc}.
+ * The allocation free path is also guarded by TellAllocationTest in the build.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TellBenchmark {
+    private static final int QUEUE_SIZE = 65_536;
+    private static final Object MESSAGE = new Object();
+
+    @Param({"false", "true"})
+    public boolean preallocated;
+
+    private ActorSystem actorSystem;
+    private ActorRef actorRef;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        actorSystem = ActorSystem.create("TellSystem", new ActorSystemConfig(Schedulers.parallel()));
+        MailboxConfig mailboxConfig = preallocated
+                ? MailboxConfig.defaultMailbox().withPreallocatedSlots()
+                : MailboxConfig.defaultMailbox();
+        actorRef = actorSystem.actorOf(
+                SinkActor::new,
+                new ActorConfig("SinkActor", Collections.emptyList(), QUEUE_SIZE, mailboxConfig)
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        actorSystem.terminate();
+    }
+
+    @Benchmark
+    public void tell() {
+        while (!actorRef.tryTell(MESSAGE).isAccepted()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    public static class SinkActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .matchAny((m, r) -> {
+                    })
+                    .build();
+        }
+
+        @Override
+        public void postStop() {
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
  */
 public abstract class AbstractActor {
     private ActorRef self = null;
+    private InternalActor internalActor;
     private static final SupervisorStrategy defaultSupervisorStrategy = new OneForOneSupervisorStrategy(3, e -> SupervisorStrategyDirective.RESTART);
 
     /**
@@ -43,6 +44,7 @@ public abstract class AbstractActor {
 
     /**
      * supervisorStrategy - SupervisorStrategy to be used by this Actor for handling failures in child actors.
+     * It's called once, when the first child is created, &amp; the strategy is then shared by all the children.
      * @return {@link SupervisorStrategy}
      */
     public SupervisorStrategy supervisorStrategy() {
@@ -70,6 +72,17 @@ public abstract class AbstractActor {
         preStart();
     }
 
+    /**
+     * reset - Called instead of preRestart &amp; postRestart when the supervisor restarts the Actor in
+     * {@link com.atlassian.actor.model.RestartMode#RESET} mode. This instance is kept, so it should only clear the
+     * state which the failure may have left inconsistent.
+     * @param reason {@link Throwable} - Reason for restarting the Actor.
+     * @param message {@link Object} - Message which caused the Actor to restart, null if a parent failed.
+     * @throws Exception if an error occurs during the reset process.
+     */
+    public void reset(Throwable reason, Object message) throws Exception {
+    }
+
     public void setSelf(ActorRef actorRef) {
         self = actorRef;
     }
@@ -77,4 +90,51 @@ public abstract class AbstractActor {
     public ActorRef self() {
         return self;
     }
+
+    /**
+     * stash - Set aside the message being processed, it's processed again after {@link #unstashAll()}.
+     * The stash is bounded by the queue size of the Actor.
+     * It must be called from the message handler, as it stashes the message being handled.
+     * @throws com.atlassian.actor.exceptions.StashOverflowException if the stash is full
+     */
+    protected final void stash() {
+        internalActor.stashCurrentMessage();
+    }
+
+    /**
+     * unstashAll - Process all stashed messages in the order they were stashed, before any other message in the mailbox.
+     * It must be called from the message handler or the lifecycle methods of the Actor.
+     */
+    protected final void unstashAll() {
+        internalActor.unstashAll();
+    }
+
+    /**
+     * become - Replace the current behaviour of the Actor with the given one for the next messages.
+     * It must be called from the message handler. The behaviour is reset to {@link #createReceive()} on restart.
+     * @param behaviour {@link Receive} - New behaviour of the Actor.
+     * @param discardOld if false, the current behaviour is kept on a stack &amp; {@link #unbecome()} reverts to it.
+     */
+    protected final void become(Receive behaviour, boolean discardOld) {
+        internalActor.become(behaviour, discardOld);
+    }
+
+    /**
+     * become - Replace the current behaviour of the Actor with the given one, discarding the current behaviour.
+     * @param behaviour {@link Receive} - New behaviour of the Actor.
+     */
+    protected final void become(Receive behaviour) {
+        become(behaviour, true);
+    }
+
+    /**
+     * unbecome - Revert to the behaviour kept by the last {@link #become(Receive, boolean)}, if any.
+     */
+    protected final void unbecome() {
+        internalActor.unbecome();
+    }
+
+    void setInternalActor(InternalActor internalActor) {
+        this.internalActor = internalActor;
+    }
 }
\ No newline at end of file
@@ -5,13 +5,19 @@ import com.atlassian.actor.model.ActorCell;
 import com.atlassian.actor.model.ErrorData;
 import com.atlassian.actor.model.PoisonPill;
 import com.atlassian.actor.supervision.ActorFailureHandler;
+import com.atlassian.actor.supervision.GroupRestarts;
+import com.atlassian.actor.supervision.RestartHistory;
+import com.atlassian.actor.supervision.restart.config.RestartConfig;
 import com.atlassian.actor.exceptions.ActorNameExistsException;
+import com.atlassian.actor.exceptions.ActorTerminatingException;
 import com.atlassian.actor.supervision.strategy.RootSupervisorStrategy;
 import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
 import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
@@ -29,6 +35,11 @@ public abstract class ActorCore {
     @VisibleForTesting
     protected final AtomicBoolean isTerminating = new AtomicBoolean(false);
     protected Logger logger = LoggerFactory.getLogger(ActorCore.class);
+    private static final int CREATION_LOCK_STRIPES = 16;
+    // Creation of children with the same name is serialised on a stripe, allocated on first child creation.
+    private volatile Object[] creationLocks;
+    // restarts of the children as a group, allocated by the first failure handler which needs it.
+    private volatile GroupRestarts childGroupRestarts;
 
     protected ActorCore(String name) {
         this.name = name;
@@ -42,14 +53,115 @@ public abstract class ActorCore {
         return name;
     }
 
+    /**
+     * @return path of this actor from the root of the hierarchy, e.g. /system/parent/child
+     */
+    public String getPath() {
+        ActorCore parent = getParentActorCore();
+        return parent != null ? parent.getPath() + "/" + name : "/" + name;
+    }
+
     public ActorRef createActor(Supplier<AbstractActor> actorSupplier, ActorCreationConfig actorCreationConfig) {
-        if (actors.containsKey(actorCreationConfig.getName())) {
-            throw new ActorNameExistsException("This actor name " + actorCreationConfig.getName() + " already exists in this system");
+        synchronized (creationLock(actorCreationConfig.getName())) {
+            if (actors.containsKey(actorCreationConfig.getName())) {
+                throw new ActorNameExistsException("This actor name " + actorCreationConfig.getName() + " already exists in this system");
+            }
+            return createChild(actorSupplier, actorCreationConfig).getActorRef();
+        }
+    }
+
+    /**
+     * Atomically get the child with the given name or create it if absent. Concurrent callers for the same name
+     * always get the same child, while children with different names can be created in parallel.
+     *
+     * @param actorSupplier       supplier of the child actor, only called if the child is created
+     * @param actorCreationConfig config of the child actor
+     * @return {@link ActorRef} reference to the existing or created child
+     * @throws ActorTerminatingException if the existing child is terminating, as its name can only be reused once it
+     *                                   has terminated &amp; been released
+     */
+    public ActorRef getOrCreateActor(Supplier<AbstractActor> actorSupplier, ActorCreationConfig actorCreationConfig) {
+        ActorCell existing = actors.get(actorCreationConfig.getName());
+        if (existing != null) {
+            return liveChildRef(existing);
+        }
+        synchronized (creationLock(actorCreationConfig.getName())) {
+            // Creation runs outside computeIfAbsent, as starting an actor may run preStart inline & touch this map.
+            ActorCell actorCell = actors.get(actorCreationConfig.getName());
+            if (actorCell != null) {
+                return liveChildRef(actorCell);
+            }
+            return createChild(actorSupplier, actorCreationConfig).getActorRef();
         }
+    }
+
+    private ActorRef liveChildRef(ActorCell actorCell) {
+        InternalActor child = actorCell.getActor();
+        // the child stays registered until it has terminated, its ref would only dead letter messages.
+        if (child.isTerminating() || child.isTerminated()) {
+            throw new ActorTerminatingException("Child actor " + child.getName() + " of " + getName()
+                    + " is terminating. Can't get or create it until it has terminated");
+        }
+        return child.getActorRef();
+    }
+
+    private InternalActor createChild(Supplier<AbstractActor> actorSupplier, ActorCreationConfig actorCreationConfig) {
         InternalActor actorCore = InternalActor.create(actorSupplier, actorCreationConfig);
         actors.put(actorCore.getName(), new ActorCell(actorCore, false));
         logger.info("New Actor {} is created under parent actor {}, total children now is {} ", actorCore.getName(), getName(), actors.size());
-        return actorCore.getActorRef();
+        return actorCore;
+    }
+
+    private Object creationLock(String childName) {
+        Object[] locks = creationLocks;
+        if (locks == null) {
+            synchronized (this) {
+                locks = creationLocks;
+                if (locks == null) {
+                    locks = new Object[CREATION_LOCK_STRIPES];
+                    for (int i = 0; i < locks.length; i++) {
+                        locks[i] = new Object();
+                    }
+                    creationLocks = locks;
+                }
+            }
+        }
+        int hash = childName.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (CREATION_LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Recreate a passivated child actor bound to its existing {@link ActorRefImpl}.
+     */
+    InternalActor reactivateActor(ActorRefImpl actorRef, Supplier<AbstractActor> actorSupplier, ActorCreationConfig actorCreationConfig) {
+        if (isTerminating.get()) {
+            throw new ActorTerminatingException("Actor " + getName() + " is terminating. Can't reactivate child actor " + actorCreationConfig.getName());
+        }
+        synchronized (creationLock(actorCreationConfig.getName())) {
+            if (actors.containsKey(actorCreationConfig.getName())) {
+                throw new ActorNameExistsException("This actor name " + actorCreationConfig.getName() + " already exists in this system");
+            }
+            InternalActor actorCore = InternalActor.reactivate(actorSupplier, actorCreationConfig, actorRef);
+            actors.put(actorCore.getName(), new ActorCell(actorCore, false));
+            logger.info("Passivated Actor {} is reactivated under parent actor {}, total children now is {} ", actorCore.getName(), getName(), actors.size());
+            return actorCore;
+        }
+    }
+
+    /**
+     * Remove a passivated child. Unlike {@link #terminated(ActorRef)}, the child is only removed if it's still the
+     * current incarnation registered with this name.
+     */
+    synchronized void passivated(InternalActor child) {
+        ActorCell actorCell = actors.get(child.getName());
+        if (actorCell != null && actorCell.getActor() == child) {
+            actors.remove(child.getName());
+            logger.info("{} child is passivated in parent actor {}, total children now is {}", child.getName(), name, actors.size());
+            descendantTerminated(getPath() + "/" + child.getName());
+            if (isTerminating.get() && actors.isEmpty()) {
+                childrenTerminateCallback();
+            }
+        }
     }
 
     public void terminateAllChildren() {
@@ -74,6 +186,7 @@ public abstract class ActorCore {
         if (actors.containsKey(actorRef.getName())) {
             actors.remove(actorRef.getName());
             logger.info("{} children are removed from parent actor {}, isTerminating {}, remaining children to be terminated {}", actorRef.getName(), name, isTerminating.get(), actors.size());
+            descendantTerminated(getPath() + "/" + actorRef.getName());
 
             if (isTerminating.get() && actors.isEmpty()) {
                 childrenTerminateCallback();
@@ -81,6 +194,43 @@ public abstract class ActorCore {
         }
     }
 
+    /**
+     * Called when an actor below this one in the hierarchy is terminated or passivated, i.e. it's not registered with
+     * its parent anymore, forwarded up to the root.
+     *
+     * @param path path of the terminated or passivated actor
+     */
+    protected void descendantTerminated(String path) {
+        ActorCore parent = getParentActorCore();
+        if (parent != null) {
+            parent.descendantTerminated(path);
+        }
+    }
+
+    /**
+     * @return restarts of the children as a group, shared by their failure handlers
+     */
+    public GroupRestarts getChildGroupRestarts(RestartConfig restartConfig) {
+        GroupRestarts restarts = childGroupRestarts;
+        if (restarts == null) {
+            synchronized (this) {
+                restarts = childGroupRestarts;
+                if (restarts == null) {
+                    restarts = new GroupRestarts(RestartHistory.create(restartConfig));
+                    childGroupRestarts = restarts;
+                }
+            }
+        }
+        return restarts;
+    }
+
+    /**
+     * @return true if the actor is paused, e.g. until a pending restart is processed
+     */
+    public boolean isPaused() {
+        return false;
+    }
+
     public void pauseAllChildren() {
         actors.values().forEach(actorCell -> actorCell.getActor().pause());
     }
@@ -89,6 +239,14 @@ public abstract class ActorCore {
         actors.values().forEach(actorCell -> actorCell.getActor().restart(errorData));
     }
 
+    /**
+     * Pause &amp; terminate all children. Unlike {@link #terminateAllChildren()}, this actor keeps running.
+     */
+    public void stopAllChildren() {
+        pauseAllChildren();
+        actors.values().forEach(actorCell -> actorCell.getActor().terminate());
+    }
+
     public ActorRef getChildByName(String name) {
         if (actors.containsKey(name)) {
             return actors.get(name).getActor().getActorRef();
@@ -97,6 +255,21 @@ public abstract class ActorCore {
         }
     }
 
+    /**
+     * @return snapshot of the names of current children
+     */
+    Set<String> getChildNames() {
+        return new HashSet<>(actors.keySet());
+    }
+
+    /**
+     * @return handler of the messages the actors in this hierarchy can't handle, null if there is none
+     */
+    protected UnhandledMessageHandler getUnhandledMessageHandler() {
+        ActorCore parent = getParentActorCore();
+        return parent != null ? parent.getUnhandledMessageHandler() : null;
+    }
+
     public SupervisorStrategy getParentSupervisorStrategy() {
         return this.getParentActorCore() != null
                 ? this.getParentActorCore().getSupervisorStrategy()
@@ -0,0 +1,52 @@
+package com.atlassian.actor;
+
+import reactor.core.publisher.FluxSink;
+
+/**
+ * Handle used by an actor to push elements to a {@link reactor.core.publisher.Flux} created with {@link ActorRef#asFlux()}.
+ * The actor receives it in {@link com.atlassian.actor.model.StreamDemand} messages &amp; should only emit as many elements
+ * as {@link #requested()}, waiting for the next demand message otherwise.
+ *
+ * @param <T> type of the stream elements
+ */
+public class ActorEmitter<T> {
+    private final FluxSink<T> sink;
+
+    ActorEmitter(FluxSink<T> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Emit an element to the stream. Elements emitted beyond the downstream demand are buffered.
+     * @param value element to be emitted
+     */
+    public void emit(T value) {
+        sink.next(value);
+    }
+
+    /**
+     * Complete the stream.
+     */
+    public void complete() {
+        sink.complete();
+    }
+
+    /**
+     * Terminate the stream with an error.
+     * @param error {@link Throwable} - error to be propagated downstream
+     */
+    public void error(Throwable error) {
+        sink.error(error);
+    }
+
+    /**
+     * @return number of elements requested by downstream &amp; not emitted yet
+     */
+    public long requested() {
+        return sink.requestedFromDownstream();
+    }
+
+    public boolean isCancelled() {
+        return sink.isCancelled();
+    }
+}
@@ -1,6 +1,9 @@
 package com.atlassian.actor;
 
 import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.model.TellResult;
+import org.reactivestreams.Subscriber;
+import reactor.core.publisher.Flux;
 
 import java.time.Duration;
 import java.util.function.Supplier;
@@ -17,6 +20,13 @@ public interface ActorRef {
      */
     String getName();
 
+    /**
+     * Get the path of the reactor from the root of the hierarchy, e.g. /system/parent/child.
+     *
+     * @return path of the reactor
+     */
+    String getPath();
+
     /**
      * Publish data to Actor. This method is thread-safe.
      *
@@ -24,6 +34,15 @@ public interface ActorRef {
      */
     void tell(Object message);
 
+    /**
+     * Publish data to Actor without throwing when the mailbox is full. This method is thread-safe.
+     * The {@link com.atlassian.actor.model.OverflowStrategy} of the actor's mailbox is applied when the mailbox is full.
+     *
+     * @param message Actor message to be published
+     * @return {@link TellResult} outcome of the publish
+     */
+    TellResult tryTell(Object message);
+
     /**
      * Publish data to Actor with some delay. This method is thread-safe.
      *
@@ -32,6 +51,29 @@ public interface ActorRef {
      */
     void tell(Object message, Duration delay);
 
+    /**
+     * Create a Reactive Streams subscriber publishing stream elements to this actor while honouring its demand.
+     * At most window elements are published ahead of the actor, more are requested as the actor processes them.
+     * Stream completion &amp; error are delivered as {@link com.atlassian.actor.model.StreamCompleted} &amp;
+     * {@link com.atlassian.actor.model.StreamFailed} messages.
+     *
+     * @param <T>    type of the stream elements
+     * @param window max number of elements published to the actor but not yet processed
+     * @return {@link Subscriber} to be subscribed to the stream, e.g. {@code flux.subscribe(actorRef.asSubscriber(16))}
+     */
+    <T> Subscriber<T> asSubscriber(int window);
+
+    /**
+     * Create a stream whose elements are pushed by this actor. On each downstream request, the actor receives a
+     * {@link com.atlassian.actor.model.StreamDemand} message holding the {@link ActorEmitter} of the stream &amp; the
+     * requested count, and on cancellation a {@link com.atlassian.actor.model.StreamCancelled} message.
+     * Each subscription creates a new emitter.
+     *
+     * @param <T> type of the stream elements
+     * @return {@link Flux} of elements emitted by this actor
+     */
+    <T> Flux<T> asFlux();
+
     /**
      * Publish data to Actor and wait for it to return
      * a response.
@@ -39,10 +81,22 @@ public interface ActorRef {
      * @param message   Actor message to be published
      * @param timeoutMs the number of milliseconds to wait for the response
      * @return the response data
-     * @throws Exception if an error occurs during the operation
+     * @throws Exception if an error occurs during the operation, or the error the request failed with
      */
     Object ask(Object message, long timeoutMs) throws Exception;
 
+    /**
+     * Publish data to Actor without waiting for the response. The response is delivered to the mailbox of replyTo,
+     * {@link com.atlassian.actor.model.ReplyFailed} if the request fails, or {@link com.atlassian.actor.model.AskTimeout}
+     * if there is no response within the timeout.
+     * Meant for an actor querying another actor without blocking its thread.
+     *
+     * @param message Actor message to be published
+     * @param timeout time to wait for the response
+     * @param replyTo actor receiving the response, usually self()
+     */
+    void ask(Object message, Duration timeout, ActorRef replyTo);
+
     /**
      * Check if the reactor is terminating.
      * @return true if the actor is terminating else false
@@ -100,6 +154,19 @@ public interface ActorRef {
      */
     ActorRef actorOf(Supplier<AbstractActor> reactor, ActorConfig actorConfig);
 
+    /**
+     * Atomically get the child reactor with the given key as name, or create it if absent. Concurrent calls with the same key
+     * create the child only once, so this can be used to lazily create one child per entity.
+     *
+     * @param key         name of the child reactor, the name in actorConfig is ignored
+     * @param reactor     {@link AbstractActor} child reactor supplier, only called if the child is created
+     * @param actorConfig {@link ActorConfig} child reactor config
+     * @return {@link ActorRef} reference to the existing or created child reactor
+     * @throws com.atlassian.actor.exceptions.ActorTerminatingException if this reactor, or the existing child, is
+     *                                                                  terminating
+     */
+    ActorRef getOrCreateChild(String key, Supplier<AbstractActor> reactor, ActorConfig actorConfig);
+
     /**
      * Returns the reference to the child reactor with the given name.
      * @param name name of the child reactor
@@ -1,17 +1,38 @@
 package com.atlassian.actor;
 
 import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorCreationConfig;
+import com.atlassian.actor.exceptions.ActorNameExistsException;
+import com.atlassian.actor.exceptions.ActorTerminatedException;
 import com.atlassian.actor.exceptions.ActorTerminatingException;
+import com.atlassian.actor.exceptions.QueueOverflowException;
+import com.atlassian.actor.model.StreamCancelled;
+import com.atlassian.actor.model.StreamDemand;
+import com.atlassian.actor.model.TellResult;
+import org.reactivestreams.Subscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
 import java.util.function.Supplier;
 
 public class ActorRefImpl implements ActorRef {
+    private static final Logger logger = LoggerFactory.getLogger(ActorRefImpl.class);
 
-    private final InternalActor actor;
+    private final String name;
+    // null while the actor is passivated, the next message reactivates it.
+    private volatile InternalActor actor;
+    private ActorCore passivatedParent;
+    private Supplier<AbstractActor> passivatedActorSupplier;
+    private ActorCreationConfig passivatedActorCreationConfig;
 
     private ActorRefImpl(InternalActor actor) {
         this.actor = actor;
+        this.name = actor.getName();
     }
 
     public static ActorRef create(InternalActor actor) {
@@ -20,7 +41,63 @@ public class ActorRefImpl implements ActorRef {
 
     @Override
     public String getName() {
-        return actor.getName();
+        return name;
+    }
+
+    @Override
+    public String getPath() {
+        InternalActor current = actor;
+        return current != null ? current.getPath() : passivatedPath();
+    }
+
+    private synchronized String passivatedPath() {
+        return passivatedParent.getPath() + "/" + name;
+    }
+
+    /**
+     * Unbind the given actor from this ref &amp; release its name in the parent. No-op if the ref is bound to another incarnation.
+     *
+     * @return true if the actor is passivated
+     */
+    synchronized boolean passivate(InternalActor passivatingActor, ActorCore parent, Supplier<AbstractActor> actorSupplier,
+                                   ActorCreationConfig actorCreationConfig) {
+        if (actor != passivatingActor) {
+            return false;
+        }
+        parent.passivated(passivatingActor);
+        passivatedParent = parent;
+        passivatedActorSupplier = actorSupplier;
+        passivatedActorCreationConfig = actorCreationConfig;
+        actor = null;
+        return true;
+    }
+
+    void bind(InternalActor reactivatedActor) {
+        actor = reactivatedActor;
+    }
+
+    boolean isPassivated() {
+        return actor == null;
+    }
+
+    /**
+     * @return current incarnation of the actor, reactivating it if passivated. Null if the actor can't be reactivated anymore.
+     */
+    private InternalActor actor() {
+        InternalActor current = actor;
+        return current != null ? current : reactivate();
+    }
+
+    private synchronized InternalActor reactivate() {
+        if (actor == null) {
+            try {
+                passivatedParent.reactivateActor(this, passivatedActorSupplier, passivatedActorCreationConfig);
+            } catch (ActorTerminatingException | ActorNameExistsException e) {
+                logger.info("Passivated actor {} can't be reactivated: {}", name, e.getMessage());
+                return null;
+            }
+        }
+        return actor;
     }
 
     /**
@@ -30,7 +107,35 @@ public class ActorRefImpl implements ActorRef {
      */
     @Override
     public void tell(Object message) {
-        actor.publish(message);
+        InternalActor current = actor();
+        if (current != null) {
+            current.publish(message);
+        }
+    }
+
+    @Override
+    public TellResult tryTell(Object message) {
+        InternalActor current = actor();
+        return current != null ? current.tryPublish(message) : TellResult.DEAD_LETTER;
+    }
+
+    @Override
+    public <T> Subscriber<T> asSubscriber(int window) {
+        return new ActorSubscriber<>(this, window);
+    }
+
+    @Override
+    public <T> Flux<T> asFlux() {
+        return Flux.create(sink -> {
+            ActorEmitter<T> emitter = new ActorEmitter<>(sink);
+            // demand & cancellation are never rejected by a full mailbox, so only a terminated actor doesn't accept them.
+            sink.onRequest(requested -> {
+                if (!tryTell(new StreamDemand(emitter, requested)).isAccepted()) {
+                    sink.error(new ActorTerminatedException("Actor " + getName() + " is terminated, can't emit elements"));
+                }
+            });
+            sink.onCancel(() -> tryTell(new StreamCancelled(emitter)));
+        }, FluxSink.OverflowStrategy.BUFFER);
     }
 
     /**
@@ -41,22 +146,33 @@ public class ActorRefImpl implements ActorRef {
      */
     @Override
     public void tell(Object message, Duration delay) {
-        actor.publish(message, delay);
+        InternalActor current = actor();
+        if (current != null) {
+            current.publish(message, delay);
+        }
     }
 
     @Override
     public boolean isTerminating() {
-        return actor.isTerminating();
+        InternalActor current = actor;
+        return current != null && current.isTerminating();
     }
 
+    // A passivated actor is considered running as long as its parent can reactivate it.
     @Override
     public boolean isTerminated() {
-        return actor.isTerminated();
+        InternalActor current = actor;
+        return current != null ? current.isTerminated() : isPassivatedParentTerminating();
     }
 
     @Override
     public boolean isRunning() {
-        return actor.isRunning();
+        InternalActor current = actor;
+        return current != null ? current.isRunning() : !isPassivatedParentTerminating();
+    }
+
+    private synchronized boolean isPassivatedParentTerminating() {
+        return passivatedParent != null && passivatedParent.isTerminating.get();
     }
 
     @Override
@@ -71,31 +187,92 @@ public class ActorRefImpl implements ActorRef {
 
     @Override
     public void addWatcher(ActorRef actorRef) {
-        actor.addWatcher(actorRef);
+        InternalActor current = actor();
+        if (current != null) {
+            current.addWatcher(actorRef);
+        }
     }
 
     @Override
     public void removeWatcher(ActorRef actorRef) {
-        actor.removeWatcher(actorRef);
+        InternalActor current = actor;
+        if (current != null) {
+            current.removeWatcher(actorRef);
+        }
     }
 
     @Override
     public ActorRef actorOf(Supplier<AbstractActor> actorSupplier, ActorConfig actorConfig) {
-        if (actor.isTerminating()) {
+        InternalActor current = actor();
+        if (current == null || current.isTerminating()) {
             throw new ActorTerminatingException("Actor " + getName() + " is terminating. Can't create child actor");
         }
-        return actor.createActor(actorSupplier, actorConfig);
+        return current.createActor(actorSupplier, actorConfig);
+    }
+
+    @Override
+    public ActorRef getOrCreateChild(String key, Supplier<AbstractActor> actorSupplier, ActorConfig actorConfig) {
+        InternalActor current = actor();
+        if (current == null || current.isTerminating()) {
+            throw new ActorTerminatingException("Actor " + getName() + " is terminating. Can't create child actor");
+        }
+        return current.getOrCreateChild(key, actorSupplier, actorConfig);
     }
 
     @Override
     public ActorRef getChildByName(String name) {
-        return actor.getChildByName(name);
+        // a passivated actor never has children.
+        InternalActor current = actor;
+        return current != null ? current.getChildByName(name) : null;
+    }
+
+    /**
+     * @return names of the children of the current incarnation, empty while passivated
+     */
+    Set<String> getChildNames() {
+        InternalActor current = actor;
+        return current != null ? current.getChildNames() : Collections.emptySet();
     }
 
     @Override
     public Object ask(Object message, long timeoutMs) throws Exception {
         Responder responder = new Responder();
-        actor.publish(message, responder);
+        tell(message, responder);
         return responder.waitForObject(timeoutMs);
     }
+
+    /**
+     * Publish the request of a blocking ask. The responder fails right away if the actor can't be reactivated, instead
+     * of leaving the asker waiting for the timeout.
+     */
+    void tell(Object message, Responder responder) {
+        InternalActor current = actor();
+        if (current != null) {
+            current.publish(message, responder);
+        } else {
+            responder.fail(askDropped());
+        }
+    }
+
+    @Override
+    public void ask(Object message, Duration timeout, ActorRef replyTo) {
+        // the responder is attached to the request, so it's published as the envelope of the request.
+        ReplyResponder responder = new ReplyResponder(message, replyTo);
+        InternalActor current = actor();
+        if (current == null) {
+            responder.fail(askDropped());
+            return;
+        }
+        TellResult result = current.tryPublish(responder);
+        if (result.isAccepted()) {
+            responder.scheduleTimeout(timeout);
+        } else if (result == TellResult.MAILBOX_FULL) {
+            // dropped & dead lettered requests already failed, a rejected one is failed here instead of throwing.
+            responder.fail(new QueueOverflowException("Mailbox of actor " + getName() + " is full. Ask is dropped"));
+        }
+    }
+
+    private ActorTerminatedException askDropped() {
+        return new ActorTerminatedException("Actor " + getName() + " is terminated. Ask is dropped");
+    }
 }
@@ -0,0 +1,96 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.model.StreamCompleted;
+import com.atlassian.actor.model.StreamFailed;
+import com.atlassian.actor.model.TellResult;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A Reactive Streams subscriber which publishes the elements of a stream to an actor while honouring its demand.
+ * At most window elements are requested ahead of the actor. Once the number of elements published but not yet processed
+ * drops to the low watermark (half the window), the subscriber requests enough elements to fill the window again.
+ * Completion &amp; error of the stream are delivered to the actor as {@link StreamCompleted} &amp; {@link StreamFailed}.
+ *
+ * @param <T> type of the stream elements
+ */
+public class ActorSubscriber<T> extends BaseSubscriber<T> {
+    private static final Logger log = LoggerFactory.getLogger(ActorSubscriber.class);
+    private final ActorRef actor;
+    private final int window;
+    private final int lowWatermark;
+    // elements requested from upstream which are not processed yet by the actor.
+    private final AtomicInteger pending = new AtomicInteger();
+
+    ActorSubscriber(ActorRef actor, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be greater than 0, found " + window);
+        }
+        this.actor = actor;
+        this.window = window;
+        this.lowWatermark = window / 2;
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+        pending.set(window);
+        request(window);
+    }
+
+    @Override
+    protected void hookOnNext(T value) {
+        TellResult result = actor.tryTell(new Element(value, this));
+        if (result == TellResult.DEAD_LETTER) {
+            log.info("Actor {} can't accept stream elements anymore, cancelling the subscription", actor.getName());
+            cancel();
+        } else if (!result.isAccepted()) {
+            log.warn("Stream element {} is not accepted by actor {}, result {}", value, actor.getName(), result);
+            onProcessed();
+        }
+    }
+
+    @Override
+    protected void hookOnComplete() {
+        actor.tryTell(StreamCompleted.getInstance());
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+        actor.tryTell(new StreamFailed(throwable));
+    }
+
+    /**
+     * Called by the actor once an element is processed. Requests more elements when below the low watermark.
+     */
+    void onProcessed() {
+        int current = pending.decrementAndGet();
+        if (current <= lowWatermark && pending.compareAndSet(current, window)) {
+            request((long) window - current);
+        }
+    }
+
+    /**
+     * Envelope of a stream element. The actor processes the element &amp; then acknowledges it to the subscriber.
+     */
+    static class Element {
+        private final Object value;
+        private final ActorSubscriber<?> subscriber;
+
+        Element(Object value, ActorSubscriber<?> subscriber) {
+            this.value = value;
+            this.subscriber = subscriber;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        ActorSubscriber<?> getSubscriber() {
+            return subscriber;
+        }
+    }
+}
@@ -24,10 +24,13 @@ public class ActorSystem {
 
     private final SupervisorStrategy supervisorStrategy;
 
+    private final DeadLetters deadLetters;
+
     private ActorSystem(String name, ActorSystemConfig actorSystemConfig, InternalActorSystem internalActorSystem) {
         this.name = name;
         this.internalActorSystem = internalActorSystem;
         this.supervisorStrategy = actorSystemConfig.getSupervisorStrategy();
+        this.deadLetters = actorSystemConfig.getDeadLetters();
     }
 
     public static ActorSystem create(String name, ActorSystemConfig actorSystemConfig) {
@@ -42,7 +45,8 @@ public class ActorSystem {
                         name,
                         actorSystemConfig.getScheduler(),
                         signalListenerFactory,
-                        actorSystemConfig.getSupervisorStrategy()
+                        actorSystemConfig.getSupervisorStrategy(),
+                        actorSystemConfig.getUnhandledMessageHandler()
                 )
         );
     }
@@ -59,10 +63,50 @@ public class ActorSystem {
         return name;
     }
 
+    /**
+     * @return dead letters of the system, the messages actors couldn't handle or rejected. They are only published
+     * here by the default UnhandledMessageHandler of the {@link ActorSystemConfig}.
+     */
+    public DeadLetters getDeadLetters() {
+        return deadLetters;
+    }
+
     public ActorRef actorOf(Supplier<AbstractActor> actorSupplier, ActorConfig actorConfig) {
         return internalActorSystem.createActor(actorSupplier, actorConfig);
     }
 
+    /**
+     * Create a top level {@link TypedActor} &amp; return a typed reference to it.
+     *
+     * @param <M>           protocol type of the messages of the actor
+     * @param actorSupplier supplier of the typed actor
+     * @param protocol      protocol type of the messages of the actor
+     * @param actorConfig   config of the actor
+     * @return {@link TypedActorRef}
+     */
+    public <M> TypedActorRef<M> typedActorOf(Supplier<? extends TypedActor<M>> actorSupplier, Class<M> protocol,
+                                             ActorConfig actorConfig) {
+        return TypedActorRef.of(actorOf(actorSupplier::get, actorConfig), protocol);
+    }
+
+    /**
+     * Atomically get the top level actor with the given key as name, or create it if absent.
+     */
+    public ActorRef getOrCreateChild(String key, Supplier<AbstractActor> actorSupplier, ActorConfig actorConfig) {
+        return internalActorSystem.getOrCreateChild(key, actorSupplier, actorConfig);
+    }
+
+    /**
+     * Resolve an actor by its path, e.g. /system/parent/child. Resolved actors are cached until they terminate,
+     * so repeated lookups of the same path don't walk the hierarchy.
+     *
+     * @param path path of the actor as returned by {@link ActorRef#getPath()}
+     * @return {@link ActorRef} of the actor or null if there is no actor with this path
+     */
+    public ActorRef select(String path) {
+        return internalActorSystem.select(path);
+    }
+
     public synchronized void terminate(Runnable runnable) {
         if (internalActorSystem.getStatus().isTerminatingOrTerminated()) {
             throw new ActorSystemTerminatingException("ActorSystem " + internalActorSystem.getName() + " is already terminating or Terminated");
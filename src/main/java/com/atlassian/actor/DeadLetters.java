@@ -0,0 +1,50 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.model.DeadLetter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Event stream of the dead letters of an actor system. The {@link DefaultUnhandledMessageHandler} of an
+ * {@link com.atlassian.actor.config.ActorSystemConfig} publishes to it, so dead letters can be observed with
+ * {@link #subscribe(Consumer)}. Dead letters published while nobody is subscribed are discarded.
+ * <p>
+ * Subscribers are called on the thread publishing the dead letter, usually the thread of the actor which couldn't
+ * handle it, so they must not block. A subscriber which throws doesn't stop the others.
+ */
+public class DeadLetters implements Consumer<DeadLetter> {
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetters.class);
+
+    // publishing only iterates, subscribing is rare.
+    private final List<Consumer<DeadLetter>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param subscriber consumer of the dead letters published from now on
+     * @return {@link Disposable} which unsubscribes the subscriber
+     */
+    public Disposable subscribe(Consumer<DeadLetter> subscriber) {
+        // a wrapper per subscription, so that the same consumer can be subscribed & disposed more than once.
+        Consumer<DeadLetter> subscription = subscriber::accept;
+        subscribers.add(subscription);
+        return () -> subscribers.remove(subscription);
+    }
+
+    /**
+     * Publish a dead letter to all the subscribers.
+     */
+    @Override
+    public void accept(DeadLetter deadLetter) {
+        for (Consumer<DeadLetter> subscriber : subscribers) {
+            try {
+                subscriber.accept(deadLetter);
+            } catch (RuntimeException e) {
+                logger.warn("Dead letter subscriber failed for message {}", deadLetter.getMessage().getClass().getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.model.DeadLetter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Default {@link UnhandledMessageHandler}. It counts the unhandled messages per actor &amp; message class, logs at most
+ * one warning per log interval with the number of messages since the last one, and forwards every message as a
+ * {@link DeadLetter} to the given consumer. A misrouted burst of messages is therefore cheap to absorb.
+ * <p>
+ * If a MeterRegistry is given, the counts are also published as the {@value #METRIC_NAME} counter tagged with the
+ * actor path &amp; message class. The counts &amp; counters of an actor are removed when it terminates.
+ */
+public class DefaultUnhandledMessageHandler implements UnhandledMessageHandler {
+    public static final String METRIC_NAME = "reactor.actor.unhandled.messages";
+    private static final Duration DEFAULT_LOG_INTERVAL = Duration.ofSeconds(10);
+    private static final String UNKNOWN_ACTOR = "unknown";
+    private static final Logger logger = LoggerFactory.getLogger(DefaultUnhandledMessageHandler.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long logIntervalNanos;
+    private final Consumer<DeadLetter> deadLetters;
+    // counters per actor & message class, keyed by the ActorRef itself so that counting doesn't allocate a key.
+    private final Map<ActorRef, ActorCounters> counters = new ConcurrentHashMap<>();
+    private final ActorCounters unknownActorCounters = new ActorCounters(UNKNOWN_ACTOR);
+    private final AtomicLong nextLogNanos = new AtomicLong(System.nanoTime());
+    private final LongAdder sinceLastLog = new LongAdder();
+
+    /**
+     * Handler which discards the dead letters, see {@link #DefaultUnhandledMessageHandler(MeterRegistry, Consumer)}
+     * to observe them.
+     */
+    public DefaultUnhandledMessageHandler() {
+        this(null);
+    }
+
+    /**
+     * Handler which discards the dead letters, see {@link #DefaultUnhandledMessageHandler(MeterRegistry, Consumer)}
+     * to observe them.
+     *
+     * @param meterRegistry registry to publish the counts to, can be null
+     */
+    public DefaultUnhandledMessageHandler(MeterRegistry meterRegistry) {
+        this(meterRegistry, deadLetter -> {
+        });
+    }
+
+    /**
+     * @param meterRegistry registry to publish the counts to, can be null
+     * @param deadLetters   consumer of the unhandled &amp; rejected messages, e.g. the {@link DeadLetters} of the system
+     */
+    public DefaultUnhandledMessageHandler(MeterRegistry meterRegistry, Consumer<DeadLetter> deadLetters) {
+        this(meterRegistry, DEFAULT_LOG_INTERVAL, deadLetters);
+    }
+
+    /**
+     * @param meterRegistry registry to publish the counts to, can be null
+     * @param logInterval   minimum interval between two warnings
+     * @param deadLetters   consumer of the unhandled messages, e.g. publishing them to a dead letter actor
+     */
+    public DefaultUnhandledMessageHandler(MeterRegistry meterRegistry, Duration logInterval, Consumer<DeadLetter> deadLetters) {
+        this.meterRegistry = meterRegistry;
+        this.logIntervalNanos = logInterval.toNanos();
+        this.deadLetters = deadLetters;
+    }
+
+    @Override
+    public void unhandled(Object message, ActorRef recipient) {
+        ActorCounters actorCounters = recipient != null
+                ? counters.computeIfAbsent(recipient, key -> new ActorCounters(key.getPath()))
+                : unknownActorCounters;
+        actorCounters.increment(message.getClass());
+        sinceLastLog.increment();
+        logRateLimited(message, actorCounters.actor);
+        deadLetters.accept(new DeadLetter(message, recipient));
+    }
+
+    /**
+     * Rejected messages are not counted as unhandled, they are only forwarded as a {@link DeadLetter}.
+     */
+    @Override
+    public void rejected(Object message, ActorRef recipient) {
+        deadLetters.accept(new DeadLetter(message, recipient));
+    }
+
+    /**
+     * Remove the counts &amp; counters of the terminated actor.
+     */
+    @Override
+    public void actorTerminated(ActorRef actorRef) {
+        ActorCounters actorCounters = counters.remove(actorRef);
+        if (actorCounters != null) {
+            actorCounters.removeMeters();
+        }
+    }
+
+    /**
+     * @return number of unhandled messages of the given class received by the actor, since it was created
+     */
+    public long getUnhandledCount(ActorRef actorRef, Class<?> messageClass) {
+        ActorCounters actorCounters = counters.get(actorRef);
+        return actorCounters != null ? actorCounters.count(messageClass) : 0;
+    }
+
+    /**
+     * @return number of unhandled messages of the given class received by the running actor with the given path
+     */
+    public long getUnhandledCount(String actorPath, Class<?> messageClass) {
+        for (ActorCounters actorCounters : counters.values()) {
+            if (actorCounters.actor.equals(actorPath)) {
+                return actorCounters.count(messageClass);
+            }
+        }
+        return UNKNOWN_ACTOR.equals(actorPath) ? unknownActorCounters.count(messageClass) : 0;
+    }
+
+    /**
+     * Counters of one actor per message class. The path of the actor is only built once, for its first unhandled
+     * message.
+     */
+    private final class ActorCounters {
+        private final String actor;
+        private final Map<Class<?>, LongAdder> byMessageClass = new ConcurrentHashMap<>();
+        private final Queue<Meter> meters = new ConcurrentLinkedQueue<>();
+
+        private ActorCounters(String actor) {
+            this.actor = actor;
+        }
+
+        void increment(Class<?> messageClass) {
+            byMessageClass.computeIfAbsent(messageClass, this::newCounter).increment();
+        }
+
+        long count(Class<?> messageClass) {
+            LongAdder counter = byMessageClass.get(messageClass);
+            return counter != null ? counter.sum() : 0;
+        }
+
+        void removeMeters() {
+            Meter meter;
+            while ((meter = meters.poll()) != null) {
+                meterRegistry.remove(meter);
+            }
+        }
+
+        private LongAdder newCounter(Class<?> messageClass) {
+            LongAdder counter = new LongAdder();
+            if (meterRegistry != null) {
+                meters.add(FunctionCounter.builder(METRIC_NAME, counter, LongAdder::sum)
+                        .description("Messages none of the matches of the actor apply to")
+                        .tag("actor", actor)
+                        .tag("messageClass", messageClass.getName())
+                        .register(meterRegistry));
+            }
+            return counter;
+        }
+    }
+
+    private void logRateLimited(Object message, String actor) {
+        long now = System.nanoTime();
+        long next = nextLogNanos.get();
+        if (now - next >= 0 && nextLogNanos.compareAndSet(next, now + logIntervalNanos)) {
+            logger.warn("Actor {} couldn't process message of {}, {} unhandled messages since the last warning",
+                    actor, message.getClass().getName(), sinceLastLog.sumThenReset());
+        }
+    }
+}
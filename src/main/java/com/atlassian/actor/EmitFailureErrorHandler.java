@@ -5,13 +5,19 @@ import reactor.core.publisher.SignalType;
 import reactor.core.publisher.Sinks;
 
 import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * This class is used to handle the failure of emitting a signal to a sink. It is used to handle the case when there
  * is some error in publishing the message to the sink.
+ * On concurrent emission, it backs off progressively (spin, yield, then park) until the deadline instead of busy spinning.
  */
 public class EmitFailureErrorHandler implements Sinks.EmitFailureHandler {
+    private static final int SPIN_ATTEMPTS = 16;
+    private static final int YIELD_ATTEMPTS = 64;
+    private static final long PARK_NANOS = 10_000L;
     private final long deadline;
+    private int attempts;
 
     public EmitFailureErrorHandler(Duration duration) {
         deadline = System.nanoTime() + duration.toNanos();
@@ -20,6 +26,7 @@ public class EmitFailureErrorHandler implements Sinks.EmitFailureHandler {
     @Override
     public boolean onEmitFailure(SignalType signalType, Sinks.EmitResult emitResult) {
         if (emitResult == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            backoff();
             return System.nanoTime() < deadline;
         } else if (emitResult == Sinks.EmitResult.FAIL_OVERFLOW) {
             throw new QueueOverflowException("Sink queue size is full, looks like subscriber is slow");
@@ -27,4 +34,15 @@ public class EmitFailureErrorHandler implements Sinks.EmitFailureHandler {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private void backoff() {
+        int attempt = attempts++;
+        if (attempt < SPIN_ATTEMPTS) {
+            Thread.onSpinWait();
+        } else if (attempt < YIELD_ATTEMPTS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
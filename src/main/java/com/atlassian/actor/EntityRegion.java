@@ -0,0 +1,384 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.exceptions.ActorTerminatingException;
+import com.atlassian.actor.model.PoisonPill;
+import com.atlassian.actor.model.Terminated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * EntityRegion spreads per-entity actors over a fixed set of shard actors. Entity IDs are hashed into one of the shards,
+ * which owns the entity actor as its child. Entity actors are created on the first message for their ID, so the
+ * creation, supervision &amp; termination of entities is spread over the shards instead of a single parent.
+ * <p>
+ * Shards are assigned with jump consistent hashing, so when the shard count changes only the entities which move to
+ * another shard are stopped. These are recreated in their new shard once their old incarnation has terminated, i.e. their
+ * state is not moved. Messages for an entity which is being moved are buffered in the region until then, so an entity
+ * never runs in two shards at once &amp; it processes its messages in the order they were sent.
+ */
+public class EntityRegion {
+    private static final Logger logger = LoggerFactory.getLogger(EntityRegion.class);
+    private static final long HANDOFF_TIMEOUT_MS = 10_000;
+    private final String name;
+    private final ActorSystem actorSystem;
+    private final Supplier<AbstractActor> entitySupplier;
+    private final ActorConfig entityConfig;
+    // messages are routed under the read lock, so a rebalance never interleaves with routing a message.
+    private final ReentrantReadWriteLock routingLock = new ReentrantReadWriteLock();
+    // entities whose old incarnation is terminating, keyed by entity ID.
+    private final Map<String, Handoff> handoffs = new ConcurrentHashMap<>();
+    private final ActorRef handoffActor;
+    private volatile ActorRef[] shards;
+    // shards created by a rebalance get a new name, as a shard removed earlier may still be terminating.
+    private int generation;
+
+    private EntityRegion(String name, ActorSystem actorSystem, int shardCount, Supplier<AbstractActor> entitySupplier,
+                         ActorConfig entityConfig) {
+        this.name = name;
+        this.actorSystem = actorSystem;
+        this.entitySupplier = entitySupplier;
+        this.entityConfig = entityConfig;
+        this.shards = createShards(new ActorRef[0], shardCount);
+        this.handoffActor = actorSystem.getOrCreateChild(name + "-handoff", () -> new HandoffActor(this), new ActorConfig(name));
+    }
+
+    /**
+     * Create an entity region with top level shard actors in the actor system.
+     *
+     * @param name           name of the region, shards are named after it
+     * @param actorSystem    actor system in which shards are created
+     * @param shardCount     number of shard actors
+     * @param entitySupplier supplier of entity actors
+     * @param entityConfig   config of entity actors, the name is replaced by the entity ID
+     * @return {@link EntityRegion}
+     */
+    public static EntityRegion create(String name, ActorSystem actorSystem, int shardCount, Supplier<AbstractActor> entitySupplier,
+                                      ActorConfig entityConfig) {
+        return new EntityRegion(name, actorSystem, shardCount, entitySupplier, entityConfig);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Publish a message to the entity with the given ID, creating the entity if needed.
+     */
+    public void tell(String entityId, Object message) {
+        route(entityId, message, null);
+    }
+
+    /**
+     * Ask the entity with the given ID, creating the entity if needed.
+     */
+    public Object ask(String entityId, Object message, long timeoutMs) throws Exception {
+        Responder responder = new Responder();
+        route(entityId, message, responder);
+        return responder.waitForObject(timeoutMs);
+    }
+
+    /**
+     * Messages sent to the returned reference bypass the region, so it must not be kept across a rebalance.
+     * If the entity is being moved, this waits until its old incarnation has terminated.
+     *
+     * @return reference to the entity actor with the given ID, creating the entity if needed
+     * @throws ActorTerminatingException if the old incarnation of the entity doesn't terminate in time
+     */
+    public ActorRef entityRef(String entityId) {
+        Lock lock = routingLock.readLock();
+        while (true) {
+            Handoff handoff;
+            lock.lock();
+            try {
+                handoff = handoffs.get(entityId);
+                if (handoff == null || handoff.isDone()) {
+                    return currentEntityRef(entityId);
+                }
+            } finally {
+                lock.unlock();
+            }
+            handoff.await(entityId);
+        }
+    }
+
+    /**
+     * Change the number of shards. Entities which move to another shard are sent a PoisonPill, so they finish the
+     * messages already in their mailbox. New messages for these entities are buffered until the old incarnation has
+     * terminated &amp; are then sent to the entity in its new shard.
+     * Shards which are not needed anymore are terminated once their entities have moved.
+     *
+     * @param shardCount new number of shard actors
+     */
+    public void rebalance(int shardCount) {
+        Lock lock = routingLock.writeLock();
+        ActorRef[] oldShards;
+        int moved = 0;
+        lock.lock();
+        try {
+            oldShards = shards;
+            if (shardCount == oldShards.length) {
+                return;
+            }
+            generation++;
+            shards = createShards(oldShards, shardCount);
+            for (int index = 0; index < oldShards.length; index++) {
+                moved += handOffMovedEntities(oldShards[index], index, shardCount);
+            }
+            for (int index = shardCount; index < oldShards.length; index++) {
+                oldShards[index].tell(PoisonPill.getInstance());
+            }
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Entity region {} is rebalanced from {} to {} shards, {} entities moved", name, oldShards.length, shardCount, moved);
+    }
+
+    /**
+     * Terminate all shards &amp; their entities. Asks buffered for entities being moved are failed.
+     */
+    public void terminate() {
+        Lock lock = routingLock.writeLock();
+        lock.lock();
+        try {
+            for (ActorRef shard : shards) {
+                shard.tell(PoisonPill.getInstance());
+            }
+            handoffActor.tell(PoisonPill.getInstance());
+            ActorTerminatingException cause = new ActorTerminatingException("Entity region " + name + " is terminating");
+            handoffs.values().forEach(handoff -> handoff.abandon(cause));
+            handoffs.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void route(String entityId, Object message, Responder responder) {
+        Lock lock = routingLock.readLock();
+        lock.lock();
+        try {
+            Handoff handoff = handoffs.get(entityId);
+            if (handoff == null || !handoff.buffer(message, responder)) {
+                deliver(currentEntityRef(entityId), message, responder);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ActorRef currentEntityRef(String entityId) {
+        ActorRef[] current = shards;
+        return current[shardIndex(entityId, current.length)].getOrCreateChild(entityId, entitySupplier, entityConfig);
+    }
+
+    private static void deliver(ActorRef entity, Object message, Responder responder) {
+        if (responder == null) {
+            entity.tell(message);
+        } else {
+            ((ActorRefImpl) entity).tell(message, responder);
+        }
+    }
+
+    private int handOffMovedEntities(ActorRef shard, int index, int shardCount) {
+        if (!(shard instanceof ActorRefImpl)) {
+            return 0;
+        }
+        int moved = 0;
+        for (String entityId : ((ActorRefImpl) shard).getChildNames()) {
+            // an entity which is already being handed off has no incarnation to stop yet.
+            if (shardIndex(entityId, shardCount) != index && !handoffs.containsKey(entityId)) {
+                ActorRef entity = shard.getChildByName(entityId);
+                if (entity != null) {
+                    handoffs.put(entityId, new Handoff(entity));
+                    handoffActor.watch(entity);
+                    entity.tell(PoisonPill.getInstance());
+                    moved++;
+                }
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Called once the old incarnation of a moved entity has terminated &amp; its parent released its name.
+     */
+    private void completeHandoff(ActorRef incarnation) {
+        String entityId = incarnation.getName();
+        Handoff handoff = handoffs.get(entityId);
+        if (handoff == null || !handoff.incarnation.equals(incarnation)) {
+            return;
+        }
+        Lock lock = routingLock.readLock();
+        lock.lock();
+        try {
+            handoff.flush(currentEntityRef(entityId));
+        } catch (RuntimeException e) {
+            // the new incarnation can't be created, e.g. its shard is terminating.
+            handoff.abandon(e);
+        } finally {
+            handoffs.remove(entityId, handoff);
+            lock.unlock();
+        }
+    }
+
+    private ActorRef[] createShards(ActorRef[] existingShards, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be greater than 0, found " + shardCount);
+        }
+        ActorRef[] newShards = Arrays.copyOf(existingShards, shardCount);
+        String suffix = generation == 0 ? "" : "-" + generation;
+        for (int index = existingShards.length; index < shardCount; index++) {
+            newShards[index] = actorSystem.getOrCreateChild(name + "-shard-" + index + suffix, ShardActor::new, new ActorConfig(name));
+        }
+        return newShards;
+    }
+
+    /**
+     * Jump consistent hash (Lamping &amp; Veach), which moves only about 1/n of the keys when the n-th bucket is added.
+     */
+    static int shardIndex(String entityId, int shardCount) {
+        long key = entityId.hashCode() * 0x9E3779B97F4A7C15L;
+        long bucket = -1;
+        long next = 0;
+        while (next < shardCount) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    /**
+     * Messages buffered for an entity until its old incarnation has terminated.
+     */
+    private static final class Handoff {
+        private final ActorRef incarnation;
+        private final List<Object> messages = new ArrayList<>();
+        private final List<Responder> responders = new ArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private Handoff(ActorRef incarnation) {
+            this.incarnation = incarnation;
+        }
+
+        synchronized boolean buffer(Object message, Responder responder) {
+            if (isDone()) {
+                return false;
+            }
+            messages.add(message);
+            responders.add(responder);
+            return true;
+        }
+
+        /**
+         * Deliver the buffered messages to the new incarnation. A message it doesn't accept, e.g. as its mailbox is
+         * full, is dropped &amp; its ask fails, the following ones are still delivered.
+         */
+        synchronized void flush(ActorRef entity) {
+            try {
+                for (int i = 0; i < messages.size(); i++) {
+                    Responder responder = responders.get(i);
+                    try {
+                        deliver(entity, messages.get(i), responder);
+                    } catch (RuntimeException e) {
+                        if (responder != null) {
+                            responder.fail(e);
+                        }
+                    }
+                }
+            } finally {
+                close();
+            }
+        }
+
+        synchronized void abandon(Throwable cause) {
+            for (Responder responder : responders) {
+                if (responder != null) {
+                    responder.fail(cause);
+                }
+            }
+            close();
+        }
+
+        boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        void await(String entityId) {
+            try {
+                if (done.await(HANDOFF_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new ActorTerminatingException("Entity " + entityId + " is still terminating in its previous shard");
+        }
+
+        private void close() {
+            messages.clear();
+            responders.clear();
+            done.countDown();
+        }
+    }
+
+    /**
+     * Watches moved entities &amp; completes their handoff once they have terminated.
+     */
+    private static class HandoffActor extends AbstractActor {
+        private final EntityRegion region;
+
+        HandoffActor(EntityRegion region) {
+            this.region = region;
+        }
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(Terminated.class, (terminated, responder) -> region.completeHandoff(terminated.getActorRef()))
+                    .build();
+        }
+
+        @Override
+        public void postStop() {
+        }
+    }
+
+    /**
+     * Parent of the entities of a shard. It doesn't process any message itself.
+     */
+    private static class ShardActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create().build();
+        }
+
+        @Override
+        public void postStop() {
+        }
+    }
+}
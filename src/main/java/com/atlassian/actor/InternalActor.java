@@ -2,35 +2,57 @@ package com.atlassian.actor;
 
 import com.atlassian.actor.config.ActorConfig;
 import com.atlassian.actor.config.ActorCreationConfig;
+import com.atlassian.actor.config.MailboxConfig;
+import com.atlassian.actor.mailbox.GatedMailbox;
+import com.atlassian.actor.mailbox.PriorityMailbox;
 import com.atlassian.actor.model.ActorStatus;
 import com.atlassian.actor.model.ErrorData;
+import com.atlassian.actor.model.OverflowStrategy;
 import com.atlassian.actor.model.Pair;
 import com.atlassian.actor.model.PoisonPill;
+import com.atlassian.actor.model.ReplyFailed;
+import com.atlassian.actor.model.RestartMode;
+import com.atlassian.actor.model.StreamCancelled;
+import com.atlassian.actor.model.StreamCompleted;
+import com.atlassian.actor.model.StreamDemand;
+import com.atlassian.actor.model.StreamFailed;
+import com.atlassian.actor.model.TellResult;
 import com.atlassian.actor.model.Terminated;
 import com.atlassian.actor.supervision.ActorFailureHandler;
 import com.atlassian.actor.supervision.ActorFailureHandlerFactory;
+import com.atlassian.actor.supervision.CircuitBreaker;
 import com.atlassian.actor.exceptions.ActorInitialisationException;
 import com.atlassian.actor.exceptions.ActorKilledException;
 import com.atlassian.actor.exceptions.ActorPostStopException;
+import com.atlassian.actor.exceptions.ActorTerminatedException;
 import com.atlassian.actor.exceptions.ActorTerminatingException;
 import com.atlassian.actor.exceptions.InvalidMessageException;
+import com.atlassian.actor.exceptions.QueueOverflowException;
+import com.atlassian.actor.exceptions.StashOverflowException;
 import com.atlassian.actor.model.Kill;
 import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
 import com.google.common.annotations.VisibleForTesting;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.core.publisher.Sinks;
 
 import java.time.Duration;
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Queue;
-import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * InternalActor is internally used by ActorRefImpl. It contains the core logic of the actor which is created using the reactor features
@@ -39,18 +61,41 @@ import java.util.function.Supplier;
 public class InternalActor extends ActorCore {
     private final Supplier<AbstractActor> actorSupplier;
     private final ActorCreationConfig actorCreationConfig;
+    // user messages, behind the control channel of the mailbox the sink buffers in.
     private final Queue<Object> queue;
-    private final Queue<Object> tempQueueForExistingMessages = new LinkedBlockingQueue<>();
-    private final Queue<Object> tempQueueForNewMessages = new LinkedBlockingQueue<>();
+    private final GatedMailbox mailbox;
+    // Only accessed by the thread processing messages, allocated on first stash.
+    private Stash stash;
+    // user message being processed, so that the actor can stash it.
+    private Object currentMessage;
+    private boolean currentMessageStashed;
+    private static final Duration EMIT_CONTENTION_TIMEOUT = Duration.ofSeconds(2);
+    private static final long BLOCK_PARK_NANOS = 100_000L;
+    private final OverflowStrategy overflowStrategy;
+    private final Duration blockTimeout;
+    private final Duration passivationTimeout;
+    // Only updated when passivation is enabled, to keep the message path free of extra writes otherwise.
+    private volatile long lastMessageNanos;
+    private volatile boolean passivated;
 
     @VisibleForTesting
     protected final Sinks.Many<Object> sink;
 
     @VisibleForTesting
     protected Disposable disposable;
+    private static final AtomicReferenceFieldUpdater<InternalActor, WatchRegistry> WATCHERS =
+            AtomicReferenceFieldUpdater.newUpdater(InternalActor.class, WatchRegistry.class, "watchers");
+    private static final AtomicReferenceFieldUpdater<InternalActor, CountDownLatch> CHILD_TERMINATE_LATCH =
+            AtomicReferenceFieldUpdater.newUpdater(InternalActor.class, CountDownLatch.class, "childTerminateCountDownLatch");
+    private static final AtomicReferenceFieldUpdater<InternalActor, SupervisorStrategy> SUPERVISOR_STRATEGY =
+            AtomicReferenceFieldUpdater.newUpdater(InternalActor.class, SupervisorStrategy.class, "supervisorStrategy");
+    // allocated on first watch, so actors which are never watched don't pay for it.
     @VisibleForTesting
-    protected final Set<ActorRef> watchers = new HashSet<>();
-    private final CountDownLatch childTerminateCountDownLatch = new CountDownLatch(1);
+    protected volatile WatchRegistry watchers;
+    // allocated on termination, so running actors don't pay for it.
+    private volatile CountDownLatch childTerminateCountDownLatch;
+    // strategy for the children, resolved once so that all the children share it & its circuit breaker.
+    private volatile SupervisorStrategy supervisorStrategy;
     private AbstractActor actor;
 
     @VisibleForTesting
@@ -58,65 +103,229 @@ public class InternalActor extends ActorCore {
     private final ActorRef actorRef;
     private final ActorFailureHandler actorFailureHandler;
     private final ActorCore parentActorCore;
+    // resolved once from the parent, so it's not looked up through the hierarchy for every unhandled message.
+    private final UnhandledMessageHandler unhandledMessageHandler;
+    // circuit breaker of the parent supervisor, the same instance its failure handler records failures in.
+    private final CircuitBreaker circuitBreaker;
+    // captured with the breaker, so a restart doesn't go back to the parent for it.
+    private final RestartMode restartMode;
     private Receive receiver;
+    // behaviour created by the actor, restored on a RESET restart.
+    private Receive initialReceiver;
+    // behaviours replaced by become without discarding them, allocated on first use.
+    private Deque<Receive> previousBehaviours;
 
-    private InternalActor(Supplier<AbstractActor> actorSupplier, ActorCreationConfig actorCreationConfig) {
+    private InternalActor(Supplier<AbstractActor> actorSupplier, ActorCreationConfig actorCreationConfig, ActorRefImpl existingActorRef) {
         super(actorCreationConfig.getName());
         this.actorSupplier = actorSupplier;
         this.actorCreationConfig = actorCreationConfig;
-        this.queue = new LinkedBlockingQueue<>(actorCreationConfig.getQueueSize());
-        this.sink = Sinks.many().unicast().onBackpressureBuffer(queue);
-        Flux<Object> flux = sink.asFlux().publishOn(actorCreationConfig.getScheduler());
-        subscribeToFlux(flux);
+        MailboxConfig mailboxConfig = actorCreationConfig.getMailboxConfig() != null
+                ? actorCreationConfig.getMailboxConfig()
+                : MailboxConfig.defaultMailbox();
+        this.queue = createMailbox(mailboxConfig, actorCreationConfig.getQueueSize());
+        // user messages are left in the mailbox while the actor is paused, control messages overtake them.
+        this.mailbox = new GatedMailbox(queue, this::isControlMessage, InternalActor::isStreamSignal,
+                () -> !actorStatus.get().isPaused());
+        this.overflowStrategy = mailboxConfig.getOverflowStrategy();
+        this.blockTimeout = mailboxConfig.getBlockTimeout();
+        this.passivationTimeout = actorCreationConfig.getPassivationTimeout();
+        this.sink = Sinks.many().unicast().onBackpressureBuffer(mailbox);
+        subscribeToFlux(sink.asFlux().publishOn(actorCreationConfig.getScheduler()));
         actorStatus.set(ActorStatus.STARTING);
-        actorRef = ActorRefImpl.create(this);
+        if (existingActorRef != null) {
+            existingActorRef.bind(this);
+            actorRef = existingActorRef;
+        } else {
+            actorRef = ActorRefImpl.create(this);
+        }
         parentActorCore = actorCreationConfig.getParentActor();
+        unhandledMessageHandler = parentActorCore != null ? parentActorCore.getUnhandledMessageHandler() : null;
         actorFailureHandler = ActorFailureHandlerFactory.create(this);
+        circuitBreaker = actorFailureHandler.getCircuitBreaker();
+        restartMode = actorFailureHandler.getRestartMode();
         publish(Init.getInstance());
     }
 
     public static InternalActor create(Supplier<AbstractActor> actorSupplier, ActorCreationConfig actorCreationConfig) {
-        return new InternalActor(actorSupplier, actorCreationConfig);
+        return new InternalActor(actorSupplier, actorCreationConfig, null);
+    }
+
+    /**
+     * Create a new incarnation of a passivated actor, bound to the ActorRef it was passivated from.
+     */
+    static InternalActor reactivate(Supplier<AbstractActor> actorSupplier, ActorCreationConfig actorCreationConfig, ActorRefImpl actorRef) {
+        return new InternalActor(actorSupplier, actorCreationConfig, actorRef);
     }
 
     public ActorRef getActorRef() {
         return actorRef;
     }
 
+    private static Queue<Object> createMailbox(MailboxConfig mailboxConfig, int queueSize) {
+        if (mailboxConfig.isPriorityMailbox()) {
+            ToIntFunction<Object> priorityFunction = mailboxConfig.getPriorityFunction();
+            return new PriorityMailbox(
+                    queueSize,
+                    mailboxConfig.getPriorityBands(),
+                    message -> mailboxPriority(message, priorityFunction)
+            );
+        } else if (mailboxConfig.isPreallocated()) {
+            if (queueSize == Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Preallocated mailbox needs a bounded queue size");
+            }
+            return new ArrayBlockingQueue<>(queueSize);
+        } else if (mailboxConfig.isCompact() && queueSize == Integer.MAX_VALUE) {
+            // unlike LinkedBlockingQueue, it has no locks and conditions to allocate.
+            return new ConcurrentLinkedQueue<>();
+        }
+        return new LinkedBlockingQueue<>(queueSize);
+    }
+
+    /**
+     * Ask &amp; stream messages are prioritised by their payload. Init &amp; Restart never get here, they go through the
+     * control channel.
+     */
+    private static int mailboxPriority(Object message, ToIntFunction<Object> priorityFunction) {
+        if (message instanceof Responder && ((Responder) message).isAttached()) {
+            return priorityFunction.applyAsInt(((Responder) message).getRequest());
+        } else if (message instanceof ActorSubscriber.Element) {
+            return priorityFunction.applyAsInt(((ActorSubscriber.Element) message).getValue());
+        }
+        return priorityFunction.applyAsInt(message);
+    }
+
     public void publish(Object message) {
+        if (tryPublish(message) == TellResult.MAILBOX_FULL) {
+            throw new QueueOverflowException("Sink queue size is full, looks like subscriber is slow");
+        }
+    }
+
+    /**
+     * Publish message without throwing on a full mailbox. The configured {@link OverflowStrategy} is applied when the mailbox is full.
+     * @param message message to be published
+     * @return {@link TellResult} outcome of the publish
+     */
+    public TellResult tryPublish(Object message) {
         if (message == null) {
             logger.error("null message received in {}", getName());
             throw new InvalidMessageException("Message cannot be null in actor " + getName());
-        } else if (acceptExternalMessage() || isActorInternalMessage(message)) {
-            sink.emitNext(message, new EmitFailureErrorHandler(Duration.ofSeconds(2)));
-        } else if (actorStatus.get().isTerminatingOrTerminated()) {
-            deadLetterMessage(message);
-        } else {
-            logger.info("Actor is paused, adding message to a temporary queue: {}", message);
-            tempQueueForNewMessages.add(message);
         }
+        // status is read once, as this is the hot path of every tell.
+        ActorStatus status = actorStatus.get();
+        // messages published during pause stay in the mailbox until the actor is restarted.
+        if (!status.isTerminatingOrTerminated() || isActorInternalMessage(message)) {
+            return emit(message);
+        } else if (passivated) {
+            return forwardToNextIncarnation(message);
+        }
+        deadLetterMessage(message);
+        return TellResult.DEAD_LETTER;
     }
 
-    private static class LatchedMessage {
-        private final Object obj;
-        private final Responder responder;
+    private TellResult emit(Object message) {
+        Sinks.EmitResult result = tryEmitNext(message);
+        if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+            // Internal messages are never dropped, they fail like before.
+            return isActorInternalMessage(message) ? TellResult.MAILBOX_FULL : onOverflow(message);
+        } else if (result.isFailure()) {
+            logger.warn("Failed to publish message to actor {}, result {}", getName(), result);
+            deadLetterMessage(message);
+            return TellResult.DEAD_LETTER;
+        }
+        return TellResult.ACCEPTED;
+    }
 
-        LatchedMessage(Object obj, Responder latch) {
-            this.obj = obj;
-            this.responder = latch;
+    private Sinks.EmitResult tryEmitNext(Object message) {
+        Sinks.EmitResult result = sink.tryEmitNext(message);
+        if (result == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            // Another thread is emitting, retry with backoff. The handler is only allocated on contention.
+            EmitFailureErrorHandler contentionHandler = new EmitFailureErrorHandler(EMIT_CONTENTION_TIMEOUT);
+            while (result == Sinks.EmitResult.FAIL_NON_SERIALIZED
+                    && contentionHandler.onEmitFailure(SignalType.ON_NEXT, result)) {
+                result = sink.tryEmitNext(message);
+            }
         }
+        return result;
+    }
+
+    private TellResult onOverflow(Object message) {
+        switch (overflowStrategy) {
+            case DROP_NEWEST:
+                logger.debug("Mailbox of actor {} is full, dropping message {}", getName(), message);
+                failAsk(message, QueueOverflowException::new);
+                return TellResult.DROPPED;
+            case DROP_OLDEST:
+                return dropOldestAndEmit(message);
+            case BLOCK:
+                return blockAndEmit(message);
+            case DEAD_LETTER:
+                deadLetterMessage(message);
+                return TellResult.DEAD_LETTER;
+            case FAIL:
+            default:
+                return TellResult.MAILBOX_FULL;
+        }
+    }
+
+    private TellResult dropOldestAndEmit(Object message) {
+        Sinks.EmitResult result;
+        do {
+            if (!dropOldestMessage()) {
+                return TellResult.MAILBOX_FULL;
+            }
+            result = tryEmitNext(message);
+        } while (result == Sinks.EmitResult.FAIL_OVERFLOW);
+        return result.isSuccess() ? TellResult.ACCEPTED : TellResult.DEAD_LETTER;
+    }
 
-        public Object getObj() {
-            return obj;
+    /**
+     * Drop the oldest user message, of the lowest priority band for a priority mailbox.
+     */
+    private boolean dropOldestMessage() {
+        Object dropped = queue instanceof PriorityMailbox
+                ? ((PriorityMailbox) queue).removeOldestOfLowestPriority(queued -> !isActorInternalMessage(queued))
+                : removeOldestMessage();
+        if (dropped == null) {
+            return false;
         }
+        logger.debug("Mailbox of actor {} is full, dropping oldest message {}", getName(), dropped);
+        if (dropped instanceof ActorSubscriber.Element) {
+            // the element is never processed, acknowledge it so that the subscriber keeps requesting elements.
+            ((ActorSubscriber.Element) dropped).getSubscriber().onProcessed();
+        } else {
+            failAsk(dropped, QueueOverflowException::new);
+        }
+        return true;
+    }
 
-        public Responder getResponder() {
-            return responder;
+    private Object removeOldestMessage() {
+        for (Object queued : queue) {
+            if (!isActorInternalMessage(queued) && queue.remove(queued)) {
+                return queued;
+            }
+        }
+        return null;
+    }
+
+    private TellResult blockAndEmit(Object message) {
+        long deadline = System.nanoTime() + blockTimeout.toNanos();
+        Sinks.EmitResult result;
+        do {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            result = tryEmitNext(message);
+        } while (result == Sinks.EmitResult.FAIL_OVERFLOW && System.nanoTime() < deadline);
+        if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+            return TellResult.MAILBOX_FULL;
         }
+        return result.isSuccess() ? TellResult.ACCEPTED : TellResult.DEAD_LETTER;
     }
 
+    /**
+     * Publish the request of an ask. The responder itself is the envelope of the request in the mailbox.
+     */
     public void publish(Object obj, Responder latch) {
-        publish(new LatchedMessage(obj, latch));
+        latch.attach(obj);
+        publish(latch);
     }
 
     public void publish(Object message, Duration delay) {
@@ -151,33 +360,57 @@ public class InternalActor extends ActorCore {
         return actorStatus.get().isRunningOrStarting();
     }
 
-    private boolean acceptExternalMessage() {
-        return actorStatus.get().isRunningOrStarting();
+    public boolean isPassivated() {
+        return passivated;
     }
 
     public ActorRef createActor(Supplier<AbstractActor> actorSupplier, ActorConfig actorConfig) {
         if (isTerminating()) {
             throw new ActorTerminatingException("Actor " + getName() + " is terminating. Can't create child actor");
         }
-        return createActor(
-                actorSupplier,
-                new ActorCreationConfig(
-                        actorConfig.getName(),
-                        this,
-                        actorCreationConfig.getScheduler(),
-                        actorConfig.getQueueSize(),
-                        actorCreationConfig.getSignalListenerFactory(),
-                        actorConfig.getTags()
-                )
+        return createActor(actorSupplier, childCreationConfig(actorConfig.getName(), actorConfig));
+    }
+
+    public ActorRef getOrCreateChild(String key, Supplier<AbstractActor> actorSupplier, ActorConfig actorConfig) {
+        if (isTerminating()) {
+            throw new ActorTerminatingException("Actor " + getName() + " is terminating. Can't create child actor");
+        }
+        return getOrCreateActor(actorSupplier, childCreationConfig(key, actorConfig));
+    }
+
+    private ActorCreationConfig childCreationConfig(String name, ActorConfig actorConfig) {
+        return new ActorCreationConfig(
+                name,
+                this,
+                actorCreationConfig.getScheduler(),
+                actorConfig.getQueueSize(),
+                actorCreationConfig.getSignalListenerFactory(),
+                actorConfig.getTags(),
+                actorConfig.getMailboxConfig(),
+                actorConfig.getPassivationTimeout()
         );
     }
 
-    public void addWatcher(ActorRef actorRef) {
-        watchers.add(actorRef);
+    /**
+     * Add a watcher, which is notified with {@link Terminated} when this actor terminates. This method is thread-safe.
+     * A watcher added after termination is notified right away.
+     */
+    public void addWatcher(ActorRef watcher) {
+        WatchRegistry registry = watchers;
+        if (registry == null) {
+            WATCHERS.compareAndSet(this, null, new WatchRegistry());
+            registry = watchers;
+        }
+        if (!registry.add(watcher)) {
+            watcher.tell(new Terminated(actorRef));
+        }
     }
 
-    public void removeWatcher(ActorRef actorRef) {
-        watchers.remove(actorRef);
+    public void removeWatcher(ActorRef watcher) {
+        WatchRegistry registry = watchers;
+        if (registry != null) {
+            registry.remove(watcher);
+        }
     }
 
     @Override
@@ -196,8 +429,10 @@ public class InternalActor extends ActorCore {
     }
 
     /**
-     * Pause the actor and all its children. During pause, actor stores all external messages(except PoisonPill) in temporary queue.
-     * And these messages are processed once actor is restarts &amp; resumes processing.
+     * Pause the actor and all its children. During pause, the actor only takes Restart &amp; PoisonPill from its mailbox,
+     * through the control channel which they share with Init. Other messages stay in the mailbox &amp; are processed once
+     * the actor is restarted, so a restart doesn't move any message whatever the size of the mailbox. A message already
+     * being processed when the actor is paused completes.
      */
     @Override
     public synchronized void pause() {
@@ -214,9 +449,19 @@ public class InternalActor extends ActorCore {
         return false;
     }
 
+    @Override
+    public boolean isPaused() {
+        return actorStatus.get().isPaused();
+    }
+
     @Override
     public SupervisorStrategy getSupervisorStrategy() {
-        return actor.supervisorStrategy();
+        SupervisorStrategy strategy = supervisorStrategy;
+        if (strategy == null) {
+            SUPERVISOR_STRATEGY.compareAndSet(this, null, actor.supervisorStrategy());
+            strategy = supervisorStrategy;
+        }
+        return strategy;
     }
 
     @Override
@@ -232,7 +477,7 @@ public class InternalActor extends ActorCore {
         if (!isReactiveStreamStopped()) {
             sink.tryEmitComplete();
         }
-        childTerminateCountDownLatch.countDown();
+        childTerminateLatch().countDown();
     }
 
     public boolean isReactiveStreamStopped() {
@@ -260,8 +505,29 @@ public class InternalActor extends ActorCore {
         return flux;
     }
 
+    /**
+     * Init &amp; Restart, and PoisonPill while the actor is paused, go through the control channel so that they are
+     * processed ahead of the user messages the paused actor doesn't take.
+     */
+    private boolean isControlMessage(Object message) {
+        return message instanceof Init || message instanceof Restart
+                || (message instanceof PoisonPill && actorStatus.get().isPaused());
+    }
+
+    /**
+     * Demand &amp; cancellation of a stream created with {@link ActorRef#asFlux()} are never rejected by a full mailbox
+     * or dropped to make room, the stream would stall otherwise. There is at most one demand per request of its
+     * downstream.
+     */
+    private static boolean isStreamSignal(Object message) {
+        return message instanceof StreamDemand || message instanceof StreamCancelled;
+    }
+
     private void poisonPillSelf() {
         actorStatus.set(ActorStatus.TERMINATING);
+        if (stash != null) {
+            stash.drain(this::deadLetterMessage);
+        }
         logger.info("Now will terminate all children for actor {}", getName());
         terminateAllChildren();
     }
@@ -274,7 +540,7 @@ public class InternalActor extends ActorCore {
         }
         boolean allChildrenTerminated = false;
         try {
-            allChildrenTerminated = childTerminateCountDownLatch.await(10_000, TimeUnit.MILLISECONDS);
+            allChildrenTerminated = childTerminateLatch().await(10_000, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // don't forget to handle interruption
         }
@@ -287,36 +553,174 @@ public class InternalActor extends ActorCore {
         notifyWatchersAndActorSystem();
     }
 
+    private CountDownLatch childTerminateLatch() {
+        CountDownLatch latch = childTerminateCountDownLatch;
+        if (latch == null) {
+            CHILD_TERMINATE_LATCH.compareAndSet(this, null, new CountDownLatch(1));
+            latch = childTerminateCountDownLatch;
+        }
+        return latch;
+    }
+
     private void notifyWatchersAndActorSystem() {
-        watchers.forEach(watcher -> watcher.tell(new Terminated(actorRef)));
+        if (passivated) {
+            // parent already released the name & the ActorRef lives on, so nobody is notified.
+            logger.info("Actor {} is passivated", getName());
+            return;
+        }
+        // the parent releases the name first, so a watcher can recreate the actor under the same name on Terminated.
         logger.info("Notifying parent actor core {} about termination", parentActorCore.getName());
         parentActorCore.terminated(actorRef);
+        if (unhandledMessageHandler != null) {
+            unhandledMessageHandler.actorTerminated(actorRef);
+        }
+        WatchRegistry registry = watchers;
+        if (registry == null && !WATCHERS.compareAndSet(this, null, WatchRegistry.closed())) {
+            registry = watchers;
+        }
+        if (registry != null) {
+            // all watchers share the same immutable Terminated message.
+            Terminated terminated = new Terminated(actorRef);
+            registry.close(watcher -> watcher.tell(terminated));
+        }
     }
 
     private Object processWrapper(Object message) {
+        process(message);
+        if (stash != null) {
+            // unstashed messages go ahead of the mailbox, like the mailbox they are left alone while the actor is paused.
+            Object unstashed;
+            while (!actorStatus.get().isPaused() && (unstashed = stash.pollUnstashed()) != null) {
+                if (interceptor(unstashed)) {
+                    process(unstashed);
+                }
+            }
+        }
+        return message;
+    }
+
+    private void process(Object message) {
         try {
+            if (passivationTimeout != null && !(message instanceof Passivate)) {
+                lastMessageNanos = System.nanoTime();
+            }
             if (message instanceof Init) {
                 initWrapper();
             } else if (message instanceof PoisonPill) {
                 poisonPillSelf();
             } else if (message instanceof Restart) {
                 reStartProcessor((Restart) message);
+            } else if (message instanceof Passivate) {
+                passivateIfIdle();
             } else if (message instanceof Kill) {
                 throw new ActorKilledException("Actor " + getName() + " is killed by Kill message");
+            } else if (circuitBreaker == null || bypassesCircuitBreaker(message)) {
+                processUserMessage(message);
+            } else if (circuitBreaker.tryAcquirePermission()) {
+                // only the messages which went through the breaker record their outcome, slow ones as failures.
+                long start = System.nanoTime();
+                processUserMessage(message);
+                circuitBreaker.recordCompletion(start);
             } else {
-                if (receiver != null) {
-                    if (message instanceof LatchedMessage) {
-                        LatchedMessage lm = (LatchedMessage) message;
-                        receiver.process(lm.obj, lm.responder);
-                    } else {
-                        receiver.process(message, null);
-                    }
-                }
+                rejectMessage(message);
             }
         } catch (Throwable error) {
             actorFailureHandler.handle(new ErrorData(error, message, actorRef));
+        } finally {
+            currentMessage = null;
+        }
+    }
+
+    private void processUserMessage(Object message) throws Exception {
+        if (receiver == null) {
+            return;
+        }
+        currentMessage = message;
+        currentMessageStashed = false;
+        if (message instanceof Responder && ((Responder) message).isAttached()) {
+            Responder responder = (Responder) message;
+            receiver.process(responder.getRequest(), responder);
+        } else if (message instanceof ActorSubscriber.Element) {
+            processStreamElement((ActorSubscriber.Element) message);
+        } else {
+            receiver.process(message, null);
         }
-        return message;
+    }
+
+    /**
+     * Watch &amp; stream control messages are always processed, rejecting them would stall a stream or lose a
+     * termination.
+     */
+    private static boolean bypassesCircuitBreaker(Object message) {
+        return message instanceof Terminated || message instanceof StreamDemand || message instanceof StreamCancelled
+                || message instanceof StreamCompleted || message instanceof StreamFailed;
+    }
+
+    /**
+     * Fail fast on a message while the circuit breaker of the parent supervisor is open. An ask is failed with the
+     * rejection, i.e. a blocking ask throws it &amp; an asking actor gets a {@link ReplyFailed}, other messages are
+     * handed to the {@link UnhandledMessageHandler} as dead letters.
+     */
+    private void rejectMessage(Object message) {
+        logger.debug("Circuit breaker {} is {}, actor {} rejects message {}", circuitBreaker.getName(), circuitBreaker.getState(),
+                getName(), message.getClass().getName());
+        if (message instanceof Responder && ((Responder) message).isAttached()) {
+            ((Responder) message).fail(circuitBreaker.rejection());
+            return;
+        }
+        Object rejected = message;
+        if (message instanceof ActorSubscriber.Element) {
+            ActorSubscriber.Element element = (ActorSubscriber.Element) message;
+            element.getSubscriber().onProcessed();
+            rejected = element.getValue();
+        }
+        if (unhandledMessageHandler != null) {
+            unhandledMessageHandler.rejected(rejected, actorRef);
+        }
+    }
+
+    private void processStreamElement(ActorSubscriber.Element element) throws Exception {
+        try {
+            receiver.process(element.getValue(), null);
+        } finally {
+            // a stashed element is only done once it's processed after unstash.
+            if (!currentMessageStashed) {
+                element.getSubscriber().onProcessed();
+            }
+        }
+    }
+
+    /**
+     * Stash the user message being processed. Must be called from the thread processing the message.
+     */
+    void stashCurrentMessage() {
+        if (currentMessage == null) {
+            throw new IllegalStateException("No message is being processed by actor " + getName() + ", nothing to stash");
+        }
+        if (currentMessageStashed) {
+            throw new IllegalStateException("Message is already stashed by actor " + getName());
+        }
+        if (!stash().offer(currentMessage)) {
+            throw new StashOverflowException("Stash of actor " + getName() + " is full, can't stash " + currentMessage);
+        }
+        currentMessageStashed = true;
+    }
+
+    /**
+     * Unstash all messages, these are processed before any message left in the mailbox. Must be called from the thread
+     * processing messages.
+     */
+    void unstashAll() {
+        if (stash != null) {
+            stash.unstashAll();
+        }
+    }
+
+    private Stash stash() {
+        if (stash == null) {
+            stash = new Stash(actorCreationConfig.getQueueSize());
+        }
+        return stash;
     }
 
     private void initWrapper() {
@@ -326,17 +730,74 @@ public class InternalActor extends ActorCore {
             actor.preStart();
             createReceiver(actor);
             logger.info("Actor {} is started", getName());
+            if (passivationTimeout != null) {
+                schedulePassivationCheck(passivationTimeout);
+            }
         } catch (Exception e) {
             throw new ActorInitialisationException("Error while starting actor " + getName() + " : " + e);
         }
     }
 
     private boolean isActorInternalMessage(Object message) {
-        return message instanceof Init || message instanceof Terminated || message instanceof PoisonPill || message instanceof Restart;
+        return message instanceof Init || message instanceof Terminated || message instanceof PoisonPill || message instanceof Restart
+                || message instanceof Passivate;
+    }
+
+    private void schedulePassivationCheck(Duration delay) {
+        Mono.delay(delay).subscribe(ignored -> {
+            if (!actorStatus.get().isTerminatingOrTerminated() && !tryPublish(Passivate.getInstance()).isAccepted()) {
+                // mailbox is full, so actor is clearly not idle.
+                schedulePassivationCheck(passivationTimeout);
+            }
+        });
+    }
+
+    /**
+     * Passivate the actor if it has been idle for the passivation timeout. Only leaf actors which are not watched are passivated,
+     * otherwise the check is rescheduled.
+     */
+    private void passivateIfIdle() {
+        if (actorStatus.get() != ActorStatus.RUNNING) {
+            return;
+        }
+        long idleNanos = System.nanoTime() - lastMessageNanos;
+        long timeoutNanos = passivationTimeout.toNanos();
+        if (idleNanos < timeoutNanos) {
+            schedulePassivationCheck(Duration.ofNanos(timeoutNanos - idleNanos));
+        } else if (!mailbox.isEmpty() || (stash != null && !stash.isEmpty()) || !actors.isEmpty() || (watchers != null && !watchers.isEmpty())
+                || parentActorCore.isTerminating.get() || !(actorRef instanceof ActorRefImpl)) {
+            schedulePassivationCheck(passivationTimeout);
+        } else {
+            passivated = true;
+            if (((ActorRefImpl) actorRef).passivate(this, parentActorCore, actorSupplier, actorCreationConfig)) {
+                logger.info("Actor {} is idle for {}, passivating it", getName(), passivationTimeout);
+                poisonPillSelf();
+            } else {
+                passivated = false;
+                schedulePassivationCheck(passivationTimeout);
+            }
+        }
+    }
+
+    /**
+     * Messages which race with passivation are handed over to the ActorRef, which reactivates the actor.
+     */
+    private TellResult forwardToNextIncarnation(Object message) {
+        if (isActorInternalMessage(message)) {
+            return TellResult.DEAD_LETTER;
+        }
+        return actorRef.tryTell(message);
     }
 
     private void reStartProcessor(Restart restartMessage) throws Exception {
-        if (actor != null) {
+        if (actor != null && restartMode == RestartMode.RESET) {
+            Object failedMessage = restartMessage.getErrorData().getActorRef().equals(actorRef)
+                    ? restartMessage.getErrorData().getMessage()
+                    : null;
+            actor.reset(restartMessage.getErrorData().getError(), failedMessage);
+            receiver = initialReceiver;
+            previousBehaviours = null;
+        } else if (actor != null) {
             if (restartMessage.getErrorData().getActorRef().equals(actorRef)) {
                 actor.preRestart(restartMessage.getErrorData().getError(), restartMessage.getErrorData().getMessage());
             } else {
@@ -352,22 +813,13 @@ public class InternalActor extends ActorCore {
             createReceiver(actor);
         }
 
-        moveMessagesToQueueAndUpdateStatus();
+        actorStatus.set(ActorStatus.RUNNING);
+        unstashAll();
 
         logger.info("Actor {} successfully restarted, now restarting its children( {} ) : {} ", getName(), actors.size(), actors);
         restartAllChildren(restartMessage.getErrorData());
     }
 
-    private void moveMessagesToQueueAndUpdateStatus() {
-        queue.addAll(tempQueueForExistingMessages);
-        queue.addAll(tempQueueForNewMessages);
-        // Once messages from both the queues are added,
-        // status is changed so that new messages can be pushed to original queue.
-        actorStatus.set(ActorStatus.RUNNING);
-        tempQueueForExistingMessages.clear();
-        tempQueueForNewMessages.clear();
-    }
-
     private void pauseActor() {
         actorStatus.set(ActorStatus.PAUSED);
         logger.info("Paused actor {}, status {}", getName(), actorStatus.get());
@@ -375,28 +827,88 @@ public class InternalActor extends ActorCore {
 
     private boolean interceptor(Object message) {
         if (actorStatus.get().isTerminating()) {
+            if (passivated && forwardToNextIncarnation(message).isAccepted()) {
+                return false;
+            }
             deadLetterMessage(message);
             return false;
-        } else if (!actorStatus.get().isPaused() || message instanceof Restart || message instanceof PoisonPill) {
-            return true;
-        } else {
-            tempQueueForExistingMessages.add(message);
-            return false;
         }
+        return true;
     }
 
     private void deadLetterMessage(Object message) {
-        logger.info("Actor {} is terminating or terminated, dead letter is encounter for message {}", getName(), message);
+        logger.info("Actor {} can't accept message, dead letter is encounter for message {}", getName(), message);
+        if (message instanceof ActorSubscriber.Element) {
+            // actor won't process any further stream elements, so stop requesting them.
+            ((ActorSubscriber.Element) message).getSubscriber().cancel();
+        } else if (actorStatus.get().isTerminatingOrTerminated()) {
+            failAsk(message, ActorTerminatedException::new);
+        } else {
+            failAsk(message, QueueOverflowException::new);
+        }
+    }
+
+    /**
+     * Fail the ask of a message which is dropped, so that the asker fails right away instead of waiting for its
+     * timeout: a blocking ask throws the error, an asking actor gets a {@link ReplyFailed}.
+     */
+    private void failAsk(Object message, Function<String, RuntimeException> cause) {
+        if (message instanceof Responder && ((Responder) message).isAttached()) {
+            ((Responder) message).fail(cause.apply("Ask to actor " + getName() + " is dropped"));
+        }
     }
 
     private AbstractActor createNewActorInstance() {
         AbstractActor actorSupplied = actorSupplier.get();
         actorSupplied.setSelf(actorRef);
+        actorSupplied.setInternalActor(this);
         return actorSupplied;
     }
 
     private void createReceiver(AbstractActor actor) {
-        receiver = actor.createReceive();
+        receiver = bindReceiver(actor.createReceive());
+        initialReceiver = receiver;
+        previousBehaviours = null;
+    }
+
+    private Receive bindReceiver(Receive receive) {
+        if (receive != null) {
+            receive.bind(actorRef, unhandledMessageHandler);
+        }
+        return receive;
+    }
+
+    @Override
+    protected UnhandledMessageHandler getUnhandledMessageHandler() {
+        return unhandledMessageHandler;
+    }
+
+    /**
+     * Replace the behaviour of the actor for the next messages. Must be called from the thread processing messages.
+     *
+     * @param behaviour  new behaviour
+     * @param discardOld if false, the current behaviour is kept so that {@link #unbecome()} reverts to it
+     */
+    void become(Receive behaviour, boolean discardOld) {
+        if (behaviour == null) {
+            throw new IllegalArgumentException("Behaviour cannot be null in actor " + getName());
+        }
+        if (!discardOld) {
+            if (previousBehaviours == null) {
+                previousBehaviours = new ArrayDeque<>();
+            }
+            previousBehaviours.push(receiver);
+        }
+        receiver = bindReceiver(behaviour);
+    }
+
+    /**
+     * Revert to the behaviour before the last {@link #become(Receive, boolean)} which kept it. Does nothing if there is none.
+     */
+    void unbecome() {
+        if (previousBehaviours != null && !previousBehaviours.isEmpty()) {
+            receiver = previousBehaviours.pop();
+        }
     }
 
     private static class Init {
@@ -407,6 +919,14 @@ public class InternalActor extends ActorCore {
         }
     }
 
+    private static class Passivate {
+        private static final Passivate instance = new Passivate();
+
+        public static Passivate getInstance() {
+            return instance;
+        }
+    }
+
     private static class Restart {
         private final ErrorData errorData;
 
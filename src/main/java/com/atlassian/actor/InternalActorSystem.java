@@ -11,6 +11,7 @@ import com.google.common.annotations.VisibleForTesting;
 import reactor.core.observability.SignalListenerFactory;
 import reactor.core.scheduler.Scheduler;
 
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -23,38 +24,55 @@ public class InternalActorSystem extends ActorCore {
     private final SignalListenerFactory<Object, ?> signalListenerFactory;
     private final SupervisorStrategy supervisorStrategy;
     private final ActorFailureHandler actorFailureHandler;
+    private final UnhandledMessageHandler unhandledMessageHandler;
     @VisibleForTesting
     protected final AtomicReference<ActorSystemStatus> status = new AtomicReference<>(ActorSystemStatus.CREATED);
     private Runnable terminateRunnable = () -> {
     };
+    // only holds actors registered in the hierarchy, so it's bounded by the number of running actors.
+    private final ConcurrentHashMap<String, ActorRef> selectionCache = new ConcurrentHashMap<>();
 
     public void setTerminateRunnable(Runnable terminateRunnable) {
         this.terminateRunnable = terminateRunnable;
     }
 
-    private InternalActorSystem(String name, Scheduler scheduler, SignalListenerFactory<Object, ?> signalListenerFactory, SupervisorStrategy supervisorStrategy) {
+    private InternalActorSystem(String name, Scheduler scheduler, SignalListenerFactory<Object, ?> signalListenerFactory, SupervisorStrategy supervisorStrategy,
+                                UnhandledMessageHandler unhandledMessageHandler) {
         super(name);
         this.scheduler = scheduler;
         this.signalListenerFactory = signalListenerFactory;
         this.supervisorStrategy = supervisorStrategy;
+        this.unhandledMessageHandler = unhandledMessageHandler;
         this.actorFailureHandler = ActorFailureHandlerFactory.create(this);
     }
 
     public static InternalActorSystem create(String name, Scheduler scheduler, SignalListenerFactory<Object, ?> signalListenerFactory, SupervisorStrategy supervisorStrategy) {
-        return new InternalActorSystem(name, scheduler, signalListenerFactory, supervisorStrategy);
+        return create(name, scheduler, signalListenerFactory, supervisorStrategy, new DefaultUnhandledMessageHandler());
+    }
+
+    public static InternalActorSystem create(String name, Scheduler scheduler, SignalListenerFactory<Object, ?> signalListenerFactory, SupervisorStrategy supervisorStrategy,
+                                             UnhandledMessageHandler unhandledMessageHandler) {
+        return new InternalActorSystem(name, scheduler, signalListenerFactory, supervisorStrategy, unhandledMessageHandler);
     }
 
     public ActorRef createActor(Supplier<AbstractActor> reactorSupplier, ActorConfig actorConfig) {
-        return createActor(
-                reactorSupplier,
-                new ActorCreationConfig(
-                        actorConfig.getName(),
-                        this,
-                        scheduler,
-                        actorConfig.getQueueSize(),
-                        signalListenerFactory,
-                        actorConfig.getTags()
-                )
+        return createActor(reactorSupplier, childCreationConfig(actorConfig.getName(), actorConfig));
+    }
+
+    public ActorRef getOrCreateChild(String key, Supplier<AbstractActor> reactorSupplier, ActorConfig actorConfig) {
+        return getOrCreateActor(reactorSupplier, childCreationConfig(key, actorConfig));
+    }
+
+    private ActorCreationConfig childCreationConfig(String name, ActorConfig actorConfig) {
+        return new ActorCreationConfig(
+                name,
+                this,
+                scheduler,
+                actorConfig.getQueueSize(),
+                signalListenerFactory,
+                actorConfig.getTags(),
+                actorConfig.getMailboxConfig(),
+                actorConfig.getPassivationTimeout()
         );
     }
 
@@ -68,6 +86,11 @@ public class InternalActorSystem extends ActorCore {
         return null;
     }
 
+    @Override
+    protected UnhandledMessageHandler getUnhandledMessageHandler() {
+        return unhandledMessageHandler;
+    }
+
     @Override
     public void restart(ErrorData errorData) {
         restartAllChildren(errorData);
@@ -102,6 +125,57 @@ public class InternalActorSystem extends ActorCore {
         return supervisorStrategy;
     }
 
+    /**
+     * Resolve an actor by its path, e.g. /system/parent/child. Resolved actors are cached until they start terminating
+     * or are passivated, i.e. as long as they are registered with their parent, so the cache never holds more entries
+     * than there are running actors.
+     *
+     * @param path path of the actor
+     * @return {@link ActorRef} of the actor or null if there is no actor with this path
+     */
+    public ActorRef select(String path) {
+        ActorRef cached = selectionCache.get(path);
+        if (cached != null) {
+            if (!cached.isTerminating() && !cached.isTerminated()) {
+                return cached;
+            }
+            selectionCache.remove(path, cached);
+        }
+        ActorRef resolved = resolve(path);
+        // a terminating actor is still resolved until its parent releases it, but not cached as it's about to go.
+        if (resolved != null && !resolved.isTerminating()) {
+            selectionCache.put(path, resolved);
+        }
+        return resolved;
+    }
+
+    private ActorRef resolve(String path) {
+        String root = "/" + getName() + "/";
+        if (!path.startsWith(root)) {
+            return null;
+        }
+        ActorRef current = null;
+        int start = root.length();
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            String name = path.substring(start, end);
+            current = current == null ? getChildByName(name) : current.getChildByName(name);
+            if (current == null) {
+                return null;
+            }
+            start = end + 1;
+        }
+        return current;
+    }
+
+    @Override
+    protected void descendantTerminated(String path) {
+        selectionCache.remove(path);
+    }
+
     @Override
     protected void childrenTerminateCallback() {
         terminateRunnable.run();
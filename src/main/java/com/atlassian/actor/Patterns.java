@@ -0,0 +1,50 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.model.ReplyFailed;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Patterns to get the result of an asynchronous computation into an actor without blocking its thread.
+ */
+public final class Patterns {
+
+    private Patterns() {
+    }
+
+    /**
+     * Deliver the result of the future to the recipient's mailbox once completed. If the future fails, the recipient
+     * receives {@link ReplyFailed} instead. Nothing is delivered for a null result.
+     *
+     * @param future    future whose result is delivered
+     * @param recipient actor receiving the result
+     * @param <T>       type of the result
+     */
+    public static <T> void pipeTo(CompletionStage<T> future, ActorRef recipient) {
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                recipient.tell(new ReplyFailed(unwrap(error)));
+            } else if (result != null) {
+                recipient.tell(result);
+            }
+        });
+    }
+
+    /**
+     * Subscribe to the mono &amp; deliver its value to the recipient's mailbox. If the mono fails, the recipient receives
+     * {@link ReplyFailed} instead. Nothing is delivered for an empty mono.
+     *
+     * @param mono      mono whose value is delivered
+     * @param recipient actor receiving the value
+     * @param <T>       type of the value
+     */
+    public static <T> void pipeTo(Mono<T> mono, ActorRef recipient) {
+        mono.subscribe(recipient::tell, error -> recipient.tell(new ReplyFailed(error)));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -4,35 +4,120 @@ import com.atlassian.actor.model.MatchTuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@link Receive} instance is a function that processes messages of a certain type.
  * It is used to define the behavior of an actor.
+ * <p>
+ * The matches which can apply to a message class are resolved once per class into a dispatch table, so a message
+ * is handed to its consumer without testing every match in order. Guarded matches are only tested with messages of
+ * their type.
  */
 public class Receive {
 
     private final Logger log = LoggerFactory.getLogger(Receive.class);
     private final List<MatchTuple> matches;
-    private final ActorConsumer<Object> defaultConsumer = (m, responder) -> log.info("couldn't process the message {}", m);
+    private final ActorConsumer<Object> defaultConsumer = (m, responder) -> unhandledByActor(m);
+    private final ActorConsumer<Object> unhandledConsumer;
+    // set by the actor using this Receive, read only for unhandled messages.
+    private volatile ActorRef owner;
+    private volatile boolean shared;
+    private volatile UnhandledMessageHandler unhandledMessageHandler;
+    // a Receive may be shared by actors on different threads.
+    private final Map<Class<?>, MatchTuple[]> dispatchTable;
 
     public Receive(List<MatchTuple> matches) {
-        this.matches = matches;
+        this(matches, null);
+    }
+
+    /**
+     * @param matches           matches in the order they are tried
+     * @param unhandledConsumer consumer of the messages none of the matches apply to, null to hand them to the
+     *                          {@link UnhandledMessageHandler} of the actor system
+     */
+    public Receive(List<MatchTuple> matches, ActorConsumer<Object> unhandledConsumer) {
+        this.matches = new ArrayList<>(matches);
+        this.dispatchTable = new ConcurrentHashMap<>();
+        this.unhandledConsumer = unhandledConsumer != null ? unhandledConsumer : defaultConsumer;
+    }
+
+    /**
+     * Receive which overrides {@link #process(Object, Responder)} to dispatch messages itself, so no dispatch table
+     * is allocated.
+     */
+    Receive(ActorConsumer<Object> unhandledConsumer) {
+        this.matches = null;
+        this.dispatchTable = null;
+        this.unhandledConsumer = unhandledConsumer != null ? unhandledConsumer : defaultConsumer;
     }
 
     public void process(Object message, Responder responder) throws Exception {
         findConsumer(message).accept(message, responder);
     }
 
+    /**
+     * Bind this Receive to the actor using it, so that its unhandled messages are reported against the actor.
+     */
+    void bind(ActorRef actorRef, UnhandledMessageHandler handler) {
+        if (owner == null) {
+            owner = actorRef;
+        } else if (owner != actorRef) {
+            shared = true;
+        }
+        unhandledMessageHandler = handler;
+    }
+
+    /**
+     * Handle a message which none of the matches apply to.
+     */
+    void unhandled(Object message, Responder responder) throws Exception {
+        unhandledConsumer.accept(message, responder);
+    }
+
     private ActorConsumer<Object> findConsumer(Object message) {
-        Optional<MatchTuple> match = matches.stream()
-                .filter(matchTuple -> matchTuple.getPredicate().test(message))
-                .findFirst();
-        if (match.isPresent()) {
-            return match.get().getAction();
+        // candidates are already filtered by type, so only their guards are left to test.
+        for (MatchTuple matchTuple : candidates(message.getClass())) {
+            if (!matchTuple.isGuarded() || matchTuple.getGuard().test(message)) {
+                return matchTuple.getAction();
+            }
+        }
+        return unhandledConsumer;
+    }
+
+    private void unhandledByActor(Object message) {
+        UnhandledMessageHandler handler = unhandledMessageHandler;
+        if (handler != null) {
+            handler.unhandled(message, shared ? null : owner);
         } else {
-            return defaultConsumer;
+            log.debug("couldn't process the message {}", message);
+        }
+    }
+
+    private MatchTuple[] candidates(Class<?> messageClass) {
+        MatchTuple[] candidates = dispatchTable.get(messageClass);
+        if (candidates == null) {
+            candidates = dispatchTable.computeIfAbsent(messageClass, this::resolveCandidates);
+        }
+        return candidates;
+    }
+
+    /**
+     * @return matches which may apply to the message class in order, up to the first one which always applies
+     */
+    private MatchTuple[] resolveCandidates(Class<?> messageClass) {
+        List<MatchTuple> candidates = new ArrayList<>();
+        for (MatchTuple matchTuple : matches) {
+            if (matchTuple.getType() == null || matchTuple.getType().isAssignableFrom(messageClass)) {
+                candidates.add(matchTuple);
+                if (!matchTuple.isGuarded()) {
+                    break;
+                }
+            }
         }
+        return candidates.toArray(new MatchTuple[0]);
     }
 }
@@ -6,6 +6,7 @@ import com.google.common.annotations.VisibleForTesting;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Builder for {@link Receive} instances. Use {@link #create()} to get a new builder.
@@ -14,6 +15,7 @@ public class ReceiveBuilder {
 
     @VisibleForTesting
     protected final List<MatchTuple> matches = new ArrayList<>();
+    private ActorConsumer<Object> unhandledConsumer;
 
     private ReceiveBuilder() {
     }
@@ -34,13 +36,54 @@ public class ReceiveBuilder {
      * @return {@link ReceiveBuilder}
      */
     public <P> ReceiveBuilder match(final Class<P> type, final ActorConsumer<P> apply) {
-        MatchTuple matchTuple = new MatchTuple(
-                type::isInstance, (ActorConsumer<Object>) apply
-        );
+        MatchTuple matchTuple = new MatchTuple(type, (ActorConsumer<Object>) apply);
         matches.add(matchTuple);
         return this;
     }
 
+    /**
+     * Adds a guarded match clause to the builder. The match clause will match messages of the given type for which the
+     * guard is true. The guard is only tested with messages of the given type.
+     * @param <P> Type of message to match.
+     * @param type {@link Class} - Type of message to match.
+     * @param guard {@link Predicate} - Guard to be tested on messages of the type.
+     * @param apply {@link ActorConsumer} - Consumer function to be applied on the message.
+     * @return {@link ReceiveBuilder}
+     */
+    public <P> ReceiveBuilder match(final Class<P> type, final Predicate<P> guard, final ActorConsumer<P> apply) {
+        MatchTuple matchTuple = new MatchTuple(type, (Predicate<Object>) guard, (ActorConsumer<Object>) apply);
+        matches.add(matchTuple);
+        return this;
+    }
+
+    /**
+     * Adds a matchEquals clause to the builder. The match clause will match messages equal to the given value and
+     * apply the given consumer function. Only messages of the class of the value are compared.
+     * @param <P> Type of the value.
+     * @param value value to compare the messages with.
+     * @param apply {@link ActorConsumer} - Consumer function to be applied on the message.
+     * @return {@link ReceiveBuilder}
+     */
+    public <P> ReceiveBuilder matchEquals(final P value, final ActorConsumer<P> apply) {
+        if (value == null) {
+            throw new IllegalArgumentException("value cannot be null in matchEquals");
+        }
+        MatchTuple matchTuple = new MatchTuple(value.getClass(), value::equals, (ActorConsumer<Object>) apply);
+        matches.add(matchTuple);
+        return this;
+    }
+
+    /**
+     * Sets the consumer function applied on the messages none of the match clauses apply to. By default these are logged.
+     * Unlike matchAny, it doesn't depend on the order of the match clauses.
+     * @param apply {@link ActorConsumer} - Consumer function to be applied on the unhandled message.
+     * @return {@link ReceiveBuilder}
+     */
+    public ReceiveBuilder matchUnhandled(final ActorConsumer<Object> apply) {
+        this.unhandledConsumer = apply;
+        return this;
+    }
+
     /**
      * Adds a matchAny clause to the builder. This would match any message and apply the given consumer function.
      * @param apply {@link Consumer} - Consumer function to be applied on the message.
@@ -55,7 +98,7 @@ public class ReceiveBuilder {
      * @return {@link Receive}
      */
     public Receive build() {
-        return new Receive(matches);
+        return new Receive(matches, unhandledConsumer);
     }
 }
 
@@ -0,0 +1,67 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.model.AskTimeout;
+import com.atlassian.actor.model.ReplyFailed;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Responder of a non-blocking ask. Instead of waking up a waiting thread, the reply is delivered to the mailbox of the
+ * asking actor, or {@link AskTimeout} if the reply doesn't arrive in time. Only one of them is ever delivered.
+ */
+class ReplyResponder extends Responder {
+    private static final AtomicIntegerFieldUpdater<ReplyResponder> DELIVERED =
+            AtomicIntegerFieldUpdater.newUpdater(ReplyResponder.class, "delivered");
+    private final ActorRef replyTo;
+    private volatile int delivered;
+    private volatile Disposable timeout;
+
+    ReplyResponder(Object request, ActorRef replyTo) {
+        this.replyTo = replyTo;
+        attach(request);
+    }
+
+    void scheduleTimeout(Duration duration) {
+        timeout = Mono.delay(duration).subscribe(ignored -> {
+            if (DELIVERED.compareAndSet(this, 0, 1)) {
+                replyTo.tell(new AskTimeout(getRequest()));
+            }
+        });
+        if (delivered == 1) {
+            timeout.dispose();
+        }
+    }
+
+    @Override
+    public void setObject(Object obj) {
+        super.setObject(obj);
+        deliver(obj != null ? obj : new ReplyFailed(new IllegalStateException("Null object set on data latch")));
+    }
+
+    /**
+     * The asking actor receives {@link ReplyFailed} with the error.
+     */
+    @Override
+    public void fail(Throwable error) {
+        super.fail(error);
+        deliver(new ReplyFailed(error));
+    }
+
+    private void deliver(Object reply) {
+        if (DELIVERED.compareAndSet(this, 0, 1)) {
+            Disposable scheduledTimeout = timeout;
+            if (scheduledTimeout != null) {
+                scheduledTimeout.dispose();
+            }
+            replyTo.tell(reply);
+        }
+    }
+
+    @Override
+    public Object waitForObject(Long timeOut) {
+        throw new UnsupportedOperationException("Reply is delivered to " + replyTo.getName() + ", it can't be waited for");
+    }
+}
@@ -1,23 +1,33 @@
 package com.atlassian.actor;
 
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * The envelope latch which is meant to be used only once by one single thread.
+ * It's a single object promise: the state is kept in one status word &amp; the waiting thread is parked directly,
+ * and it also carries the request of an ask through the mailbox so no other envelope is allocated.
  */
 public class Responder {
-    private final AtomicReference<Object> reference = new AtomicReference<>();
-    private final AtomicBoolean waitCalled = new AtomicBoolean(false);
-    private final AtomicBoolean setCalled = new AtomicBoolean(false);
-    private final CountDownLatch latch;
+    private static final int WAIT_CALLED = 1;
+    private static final int SETTING = 2;
+    private static final int SET = 4;
+    private static final AtomicIntegerFieldUpdater<Responder> STATUS =
+            AtomicIntegerFieldUpdater.newUpdater(Responder.class, "status");
     private static final long MAX_WAIT_TIME_IN_MILLIS = 60_000L;
 
+    private volatile int status;
+    // published by the SET bit of status, error is only set if the request failed.
+    private Object value;
+    private Throwable error;
+    private volatile Thread waiter;
+    // request carried by this responder when used as an ask envelope, published by the mailbox.
+    private Object request;
+
     public Responder() {
-        latch = new CountDownLatch(1);
     }
 
     /**
@@ -25,40 +35,48 @@ public class Responder {
      * will result in {@link IllegalStateException}
      * @param timeOut the time to wait for the object
      * @return the object
-     * @throws Exception if an error occurs during the operation
+     * @throws Exception if an error occurs during the operation, or the error the request failed with
      */
     public Object waitForObject(Long timeOut) throws Exception {
-        if (waitCalled.compareAndSet(false, true)) {
-            /*
-                We do not want to hold the connection for infinitely.
-                As of now control plane proxy sets a 10-second waiting time, but we ensure that it can't be set
-                more than MAX_WAIT_TIME_IN_MILLIS.
-             */
-            long latchTimeout = (timeOut < 1) ? MAX_WAIT_TIME_IN_MILLIS : Math.min(timeOut, MAX_WAIT_TIME_IN_MILLIS);
-
-            Exception exception = null;
-            try {
-                boolean successful = latch.await(latchTimeout, TimeUnit.MILLISECONDS);
-                if (!successful) {
-                    exception = new TimeoutException("Timed out after $latchTimeout");
-                }
-            } catch (InterruptedException ie) {
-                exception = new RuntimeException(ie);
-            }
+        if (!setStatus(WAIT_CALLED)) {
+            throw new IllegalStateException("method should only be called once");
+        }
+        /*
+            We do not want to hold the connection for infinitely.
+            As of now control plane proxy sets a 10-second waiting time, but we ensure that it can't be set
+            more than MAX_WAIT_TIME_IN_MILLIS.
+         */
+        long latchTimeout = (timeOut < 1) ? MAX_WAIT_TIME_IN_MILLIS : Math.min(timeOut, MAX_WAIT_TIME_IN_MILLIS);
+        if (!isSet()) {
+            awaitSet(latchTimeout);
+        }
+        if (error != null) {
+            throw error instanceof Exception ? (Exception) error : new ExecutionException(error);
+        }
 
-            // if there's not been any exception but a null object is set, we treat this as an error
-            if (exception == null && reference.get() == null) {
-                exception = new Exception("Null object set on data latch");
-            }
+        // if a null object is set, we treat this as an error
+        if (value == null) {
+            throw new Exception("Null object set on data latch");
+        }
+        return value;
+    }
 
-            // if there's been any exception so far, we throw that exception
-            if (exception != null) {
-                throw exception;
+    private void awaitSet(long latchTimeout) throws TimeoutException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(latchTimeout);
+        waiter = Thread.currentThread();
+        try {
+            while (!isSet()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException("Timed out after " + latchTimeout + " ms");
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new RuntimeException(new InterruptedException());
+                }
             }
-
-            return reference.get();
-        } else {
-            throw new IllegalStateException("method should only be called once");
+        } finally {
+            waiter = null;
         }
     }
 
@@ -68,15 +86,69 @@ public class Responder {
      * @param obj the object
      */
     public void setObject(Object obj) {
-        if (setCalled.compareAndSet(false, true)) {
-            reference.set(obj);
-            latch.countDown();
-        } else {
+        complete(obj, null);
+    }
+
+    /**
+     * Fail the request instead of replying to it, {@link #waitForObject(Long)} throws the error. Like
+     * {@link #setObject(Object)}, only one of them may be called, once.
+     * @param error the error the request failed with
+     */
+    public void fail(Throwable error) {
+        complete(null, error);
+    }
+
+    private void complete(Object obj, Throwable failure) {
+        if (!setStatus(SETTING)) {
             throw new IllegalStateException("method should only be called once");
         }
+        value = obj;
+        error = failure;
+        setStatus(SET);
+        Thread waitingThread = waiter;
+        if (waitingThread != null) {
+            LockSupport.unpark(waitingThread);
+        }
     }
 
     public Object getObject() {
-        return reference.get();
+        return isSet() ? value : null;
+    }
+
+    /**
+     * Attach the request of an ask, so that this responder is published to the mailbox as the envelope of the request.
+     */
+    void attach(Object request) {
+        if (this.request != null) {
+            throw new IllegalStateException("Responder is already attached to a request");
+        }
+        this.request = request;
+    }
+
+    Object getRequest() {
+        return request;
+    }
+
+    boolean isAttached() {
+        return request != null;
+    }
+
+    private boolean isSet() {
+        return (status & SET) != 0;
+    }
+
+    /**
+     * @return false if the bit was already set
+     */
+    private boolean setStatus(int bit) {
+        while (true) {
+            int current = status;
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (STATUS.compareAndSet(this, current, current | bit)) {
+                return true;
+            }
+        }
     }
 }
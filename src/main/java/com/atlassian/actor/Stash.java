@@ -0,0 +1,81 @@
+package com.atlassian.actor;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Bounded stash of an actor. Stashed messages are set aside until {@link #unstashAll()}, which puts them in front of the
+ * mailbox in the order they were stashed. Unstashed messages are drained by the actor itself, so they don't travel
+ * through the mailbox again &amp; can't be overtaken by newer messages.
+ * <p>
+ * It's only accessed from the thread processing the messages of the actor, so it's not thread-safe.
+ */
+class Stash {
+    private final int capacity;
+    private ArrayDeque<Object> stashed = new ArrayDeque<>();
+    private ArrayDeque<Object> unstashed = new ArrayDeque<>();
+
+    Stash(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return false if the stash is full
+     */
+    boolean offer(Object message) {
+        if (size() >= capacity) {
+            return false;
+        }
+        stashed.addLast(message);
+        return true;
+    }
+
+    /**
+     * Prepend all stashed messages to the messages which are still to be drained, keeping their order.
+     * The deques are swapped rather than copied, so unstashing after a pause is O(1) however many messages piled up.
+     * Only if both have messages, the smaller one is moved.
+     */
+    void unstashAll() {
+        if (stashed.isEmpty()) {
+            return;
+        }
+        if (unstashed.size() > stashed.size()) {
+            Object message;
+            while ((message = stashed.pollLast()) != null) {
+                unstashed.addFirst(message);
+            }
+            return;
+        }
+        ArrayDeque<Object> remaining = unstashed;
+        unstashed = stashed;
+        unstashed.addAll(remaining);
+        remaining.clear();
+        stashed = remaining;
+    }
+
+    /**
+     * @return next unstashed message or null if there is none
+     */
+    Object pollUnstashed() {
+        return unstashed.pollFirst();
+    }
+
+    /**
+     * Hand every message, unstashed ones first, to the given consumer &amp; empty the stash.
+     */
+    void drain(Consumer<Object> consumer) {
+        unstashAll();
+        Object message;
+        while ((message = unstashed.pollFirst()) != null) {
+            consumer.accept(message);
+        }
+    }
+
+    int size() {
+        return stashed.size() + unstashed.size();
+    }
+
+    boolean isEmpty() {
+        return stashed.isEmpty() && unstashed.isEmpty();
+    }
+}
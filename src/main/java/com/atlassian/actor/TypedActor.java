@@ -0,0 +1,50 @@
+package com.atlassian.actor;
+
+/**
+ * TypedActor - Abstract class to be implemented to create an Actor which only handles messages of its protocol type.
+ * The protocol is typically an interface implemented by all the messages of the actor, e.g. a sealed interface, so that
+ * {@link #onMessage(Object, Responder)} can switch over its implementations.
+ * <p>
+ * Messages are handed to {@link #onMessage(Object, Responder)} directly, without matching them against a list of
+ * handlers. Messages outside the protocol, e.g. {@link com.atlassian.actor.model.Terminated}, are handled as unhandled
+ * messages of a {@link Receive}.
+ *
+ * @param <M> protocol type of the messages of the actor
+ */
+public abstract class TypedActor<M> extends AbstractActor {
+    private final Class<M> protocol;
+
+    protected TypedActor(Class<M> protocol) {
+        this.protocol = protocol;
+    }
+
+    /**
+     * onMessage - Handle a message of the protocol of the Actor.
+     * @param message message of the protocol
+     * @param responder {@link Responder} if the message was sent with ask, otherwise null
+     * @throws Exception if an error occurs while processing the message
+     */
+    @SuppressWarnings("java:S112")
+    public abstract void onMessage(M message, Responder responder) throws Exception;
+
+    /**
+     * createReceive - Typed actors receive all messages of their protocol in {@link #onMessage(Object, Responder)}.
+     * @return {@link Receive}
+     */
+    @Override
+    public final Receive createReceive() {
+        return new TypedReceive<>(protocol, this::onMessage);
+    }
+
+    /**
+     * typedSelf - Typed reference to this Actor. Like self(), it's only available from preStart().
+     * @return {@link TypedActorRef}
+     */
+    public TypedActorRef<M> typedSelf() {
+        return TypedActorRef.of(self(), protocol);
+    }
+
+    public Class<M> getProtocol() {
+        return protocol;
+    }
+}
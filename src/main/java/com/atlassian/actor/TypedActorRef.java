@@ -0,0 +1,127 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.model.TellResult;
+
+import java.time.Duration;
+
+/**
+ * Typed view of an {@link ActorRef}, which only accepts messages of the protocol of the actor at compile time.
+ * It's a thin wrapper, the untyped {@link ActorRef} is still available with {@link #unwrap()}, e.g. to watch the actor.
+ *
+ * @param <M> protocol type of the messages of the actor
+ */
+public final class TypedActorRef<M> {
+    private final ActorRef actorRef;
+    private final Class<M> protocol;
+
+    private TypedActorRef(ActorRef actorRef, Class<M> protocol) {
+        this.actorRef = actorRef;
+        this.protocol = protocol;
+    }
+
+    /**
+     * Create a typed view of an actor. The protocol is not checked against the actor, so it should be the protocol of
+     * the {@link TypedActor} behind the reference.
+     *
+     * @param <M>      protocol type of the messages of the actor
+     * @param actorRef reference of the actor
+     * @param protocol protocol type of the messages of the actor
+     * @return {@link TypedActorRef}
+     */
+    public static <M> TypedActorRef<M> of(ActorRef actorRef, Class<M> protocol) {
+        if (actorRef == null || protocol == null) {
+            throw new IllegalArgumentException("actorRef & protocol cannot be null");
+        }
+        return new TypedActorRef<>(actorRef, protocol);
+    }
+
+    /**
+     * @see ActorRef#tell(Object)
+     */
+    public void tell(M message) {
+        actorRef.tell(message);
+    }
+
+    /**
+     * @see ActorRef#tryTell(Object)
+     */
+    public TellResult tryTell(M message) {
+        return actorRef.tryTell(message);
+    }
+
+    /**
+     * @see ActorRef#tell(Object, Duration)
+     */
+    public void tell(M message, Duration delay) {
+        actorRef.tell(message, delay);
+    }
+
+    /**
+     * @see ActorRef#ask(Object, long)
+     */
+    public Object ask(M message, long timeoutMs) throws Exception {
+        return actorRef.ask(message, timeoutMs);
+    }
+
+    /**
+     * @see ActorRef#ask(Object, Duration, ActorRef)
+     */
+    public void ask(M message, Duration timeout, ActorRef replyTo) {
+        actorRef.ask(message, timeout, replyTo);
+    }
+
+    /**
+     * Narrow this reference to a subtype of its protocol, e.g. to hand out a reference which only accepts some messages.
+     *
+     * @param <N>     protocol type of the narrowed reference
+     * @param subtype subtype of the protocol
+     * @return {@link TypedActorRef}
+     */
+    public <N extends M> TypedActorRef<N> narrow(Class<N> subtype) {
+        return new TypedActorRef<>(actorRef, subtype);
+    }
+
+    public String getName() {
+        return actorRef.getName();
+    }
+
+    public String getPath() {
+        return actorRef.getPath();
+    }
+
+    public boolean isTerminated() {
+        return actorRef.isTerminated();
+    }
+
+    public Class<M> getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * @return the untyped {@link ActorRef}
+     */
+    public ActorRef unwrap() {
+        return actorRef;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TypedActorRef)) {
+            return false;
+        }
+        return actorRef.equals(((TypedActorRef<?>) o).actorRef);
+    }
+
+    @Override
+    public int hashCode() {
+        return actorRef.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "TypedActorRef{" + actorRef + ", protocol=" + protocol.getSimpleName() + "}";
+    }
+}
@@ -0,0 +1,27 @@
+package com.atlassian.actor;
+
+/**
+ * Receive of a {@link TypedActor}. Messages of the protocol type are handed to the single handler of the actor, so
+ * the dispatch is one type check &amp; one call instead of a search through the matches. Any other message is
+ * handled as unhandled by {@link Receive}.
+ */
+final class TypedReceive<M> extends Receive {
+    private final Class<M> protocol;
+    private final ActorConsumer<M> handler;
+
+    TypedReceive(Class<M> protocol, ActorConsumer<M> handler) {
+        // dispatches messages itself, so no matches nor dispatch table.
+        super((ActorConsumer<Object>) null);
+        this.protocol = protocol;
+        this.handler = handler;
+    }
+
+    @Override
+    public void process(Object message, Responder responder) throws Exception {
+        if (protocol.isInstance(message)) {
+            handler.accept(protocol.cast(message), responder);
+        } else {
+            unhandled(message, responder);
+        }
+    }
+}
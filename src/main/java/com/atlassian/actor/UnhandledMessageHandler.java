@@ -0,0 +1,36 @@
+package com.atlassian.actor;
+
+/**
+ * Handles the messages an actor received but none of the matches of its {@link Receive} apply to.
+ * It's configured per actor system in {@link com.atlassian.actor.config.ActorSystemConfig} and called on the threads
+ * processing the messages of the actors, so implementations must be thread-safe &amp; cheap.
+ * A {@link Receive} with {@link ReceiveBuilder#matchUnhandled(ActorConsumer)} handles its unhandled messages itself.
+ */
+@FunctionalInterface
+public interface UnhandledMessageHandler {
+
+    /**
+     * @param message   the unhandled message
+     * @param recipient the actor which received the message, null if its {@link Receive} is shared by several actors
+     */
+    void unhandled(Object message, ActorRef recipient);
+
+    /**
+     * Called for a message the actor dropped without processing it, e.g. while the circuit breaker of its supervisor
+     * is open. By default it's handled as an unhandled message.
+     *
+     * @param message   the rejected message
+     * @param recipient the actor which rejected the message
+     */
+    default void rejected(Object message, ActorRef recipient) {
+        unhandled(message, recipient);
+    }
+
+    /**
+     * Called once an actor has terminated, so that state kept per actor can be released.
+     *
+     * @param actorRef the terminated actor
+     */
+    default void actorTerminated(ActorRef actorRef) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.atlassian.actor;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe registry of the watchers of an actor. A single watcher is held directly &amp; a concurrent set is only
+ * allocated once there are two watchers, so the common case of zero or one watcher stays cheap.
+ * Once closed, the registry rejects new watchers, so the caller can notify them of the termination right away.
+ */
+class WatchRegistry {
+    private static final Object CLOSED = new Object();
+    private static final AtomicReferenceFieldUpdater<WatchRegistry, Object> STATE =
+            AtomicReferenceFieldUpdater.newUpdater(WatchRegistry.class, Object.class, "state");
+    private static final WatchRegistry CLOSED_REGISTRY = new WatchRegistry(CLOSED);
+
+    // null, a single ActorRef, a concurrent Set of ActorRef or CLOSED.
+    private volatile Object state;
+
+    WatchRegistry() {
+    }
+
+    private WatchRegistry(Object state) {
+        this.state = state;
+    }
+
+    /**
+     * @return shared registry of an actor which terminated before it was watched
+     */
+    static WatchRegistry closed() {
+        return CLOSED_REGISTRY;
+    }
+
+    /**
+     * @return false if the registry is already closed, i.e. watcher must be notified by the caller
+     */
+    @SuppressWarnings("unchecked")
+    boolean add(ActorRef watcher) {
+        while (true) {
+            Object current = state;
+            if (current == CLOSED) {
+                return false;
+            } else if (current == null) {
+                if (STATE.compareAndSet(this, null, watcher)) {
+                    return true;
+                }
+            } else if (current instanceof ActorRef) {
+                if (current.equals(watcher)) {
+                    return true;
+                }
+                Set<ActorRef> watchers = ConcurrentHashMap.newKeySet();
+                watchers.add((ActorRef) current);
+                watchers.add(watcher);
+                if (STATE.compareAndSet(this, current, watchers)) {
+                    return true;
+                }
+            } else {
+                Set<ActorRef> watchers = (Set<ActorRef>) current;
+                watchers.add(watcher);
+                // If closed concurrently, whoever removes the watcher from the set notifies it.
+                return state != CLOSED || !watchers.remove(watcher);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void remove(ActorRef watcher) {
+        while (true) {
+            Object current = state;
+            if (current == null || current == CLOSED) {
+                return;
+            } else if (current instanceof ActorRef) {
+                if (!current.equals(watcher) || STATE.compareAndSet(this, current, null)) {
+                    return;
+                }
+            } else {
+                ((Set<ActorRef>) current).remove(watcher);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Close the registry &amp; hand every watcher exactly once to the given consumer.
+     */
+    @SuppressWarnings("unchecked")
+    void close(Consumer<ActorRef> notifier) {
+        Object current = STATE.getAndSet(this, CLOSED);
+        if (current instanceof ActorRef) {
+            notifier.accept((ActorRef) current);
+        } else if (current != null && current != CLOSED) {
+            Set<ActorRef> watchers = (Set<ActorRef>) current;
+            for (ActorRef watcher : watchers) {
+                if (watchers.remove(watcher)) {
+                    notifier.accept(watcher);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    int size() {
+        Object current = state;
+        if (current == null || current == CLOSED) {
+            return 0;
+        } else if (current instanceof ActorRef) {
+            return 1;
+        }
+        return ((Set<ActorRef>) current).size();
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    boolean contains(ActorRef watcher) {
+        Object current = state;
+        if (current == null || current == CLOSED) {
+            return false;
+        } else if (current instanceof ActorRef) {
+            return current.equals(watcher);
+        }
+        return ((Set<ActorRef>) current).contains(watcher);
+    }
+}
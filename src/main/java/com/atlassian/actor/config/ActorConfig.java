@@ -2,6 +2,7 @@ package com.atlassian.actor.config;
 
 import com.atlassian.actor.model.Pair;
 
+import java.time.Duration;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
@@ -22,23 +23,55 @@ public class ActorConfig {
      * Max Size of the queue for this actor. Default is Integer.MAX_VALUE. If the queue is full, no further messages can be published.
      */
     private Integer queueSize;
+    /**
+     * Mailbox of this actor. Default is a FIFO mailbox.
+     */
+    private final MailboxConfig mailboxConfig;
+    /**
+     * Idle time after which the actor is passivated. Default is null, i.e. actor is never passivated.
+     * A passivated actor is stopped &amp; its ActorRef transparently recreates it on the next message.
+     */
+    private final Duration passivationTimeout;
 
     public ActorConfig(String name) {
         this.name = name;
         this.tags = emptyList();
         this.queueSize = Integer.MAX_VALUE;
+        this.mailboxConfig = MailboxConfig.defaultMailbox();
+        this.passivationTimeout = null;
     }
 
     public ActorConfig(String name, List<Pair<String, String>> tags) {
         this.name = name;
         this.tags = tags;
         this.queueSize = Integer.MAX_VALUE;
+        this.mailboxConfig = MailboxConfig.defaultMailbox();
+        this.passivationTimeout = null;
     }
 
     public ActorConfig(String name, List<Pair<String, String>> tags, Integer queueSize) {
         this.name = name;
         this.tags = tags;
         this.queueSize = queueSize;
+        this.mailboxConfig = MailboxConfig.defaultMailbox();
+        this.passivationTimeout = null;
+    }
+
+    public ActorConfig(String name, List<Pair<String, String>> tags, Integer queueSize, MailboxConfig mailboxConfig) {
+        this.name = name;
+        this.tags = tags;
+        this.queueSize = queueSize;
+        this.mailboxConfig = mailboxConfig;
+        this.passivationTimeout = null;
+    }
+
+    public ActorConfig(String name, List<Pair<String, String>> tags, Integer queueSize, MailboxConfig mailboxConfig,
+                       Duration passivationTimeout) {
+        this.name = name;
+        this.tags = tags;
+        this.queueSize = queueSize;
+        this.mailboxConfig = mailboxConfig;
+        this.passivationTimeout = passivationTimeout;
     }
 
     public String getName() {
@@ -52,4 +85,12 @@ public class ActorConfig {
     public Integer getQueueSize() {
         return queueSize;
     }
+
+    public MailboxConfig getMailboxConfig() {
+        return mailboxConfig;
+    }
+
+    public Duration getPassivationTimeout() {
+        return passivationTimeout;
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.atlassian.actor.model.Pair;
 import reactor.core.observability.SignalListenerFactory;
 import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
 import java.util.List;
 
 import static java.util.Collections.emptyList;
@@ -19,6 +20,8 @@ public class ActorCreationConfig {
     private final Integer queueSize;
     private SignalListenerFactory<Object, ?> signalListenerFactory;
     private final List<Pair<String, String>> tags;
+    private MailboxConfig mailboxConfig = MailboxConfig.defaultMailbox();
+    private Duration passivationTimeout;
 
     public ActorCreationConfig(String name, ActorCore parentActor,
                                Scheduler scheduler, Integer queueSize) {
@@ -41,6 +44,27 @@ public class ActorCreationConfig {
         this.tags = tags;
     }
 
+    public ActorCreationConfig(String name, ActorCore parentActor,
+                               Scheduler scheduler, Integer queueSize,
+                               SignalListenerFactory<Object, ?> signalListenerFactory,
+                               List<Pair<String, String>> tags,
+                               MailboxConfig mailboxConfig) {
+        this(name, parentActor, scheduler, queueSize, signalListenerFactory, tags);
+        if (mailboxConfig != null) {
+            this.mailboxConfig = mailboxConfig;
+        }
+    }
+
+    public ActorCreationConfig(String name, ActorCore parentActor,
+                               Scheduler scheduler, Integer queueSize,
+                               SignalListenerFactory<Object, ?> signalListenerFactory,
+                               List<Pair<String, String>> tags,
+                               MailboxConfig mailboxConfig,
+                               Duration passivationTimeout) {
+        this(name, parentActor, scheduler, queueSize, signalListenerFactory, tags, mailboxConfig);
+        this.passivationTimeout = passivationTimeout;
+    }
+
     public String getName() {
         return name;
     }
@@ -64,4 +88,12 @@ public class ActorCreationConfig {
     public List<Pair<String, String>> getTags() {
         return tags;
     }
+
+    public MailboxConfig getMailboxConfig() {
+        return mailboxConfig;
+    }
+
+    public Duration getPassivationTimeout() {
+        return passivationTimeout;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.atlassian.actor.config;
 
+import com.atlassian.actor.DeadLetters;
+import com.atlassian.actor.DefaultUnhandledMessageHandler;
+import com.atlassian.actor.UnhandledMessageHandler;
 import com.atlassian.actor.model.SupervisorStrategyDirective;
 import com.atlassian.actor.supervision.strategy.OneForOneSupervisorStrategy;
 import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
@@ -22,21 +25,35 @@ public class ActorSystemConfig {
      * SupervisorStrategy to be at the actorSystem level. If not provided, DefaultSupervisorStrategy of RESTART with 3 retries will be used.
      */
     private final SupervisorStrategy supervisorStrategy;
+    /**
+     * UnhandledMessageHandler for the messages none of the matches of an actor apply to. If not provided,
+     * DefaultUnhandledMessageHandler with the MeterRegistry of the system will be used, publishing the dead letters to
+     * {@link #deadLetters}.
+     */
+    private final UnhandledMessageHandler unhandledMessageHandler;
+    /**
+     * Dead letters of the system. Only the default UnhandledMessageHandler publishes to it: with a custom one, dead
+     * letters go wherever that handler sends them, e.g. to a {@link DefaultUnhandledMessageHandler} given this stream.
+     */
+    private final DeadLetters deadLetters = new DeadLetters();
 
     public ActorSystemConfig(Scheduler scheduler) {
         this.scheduler = scheduler;
         this.supervisorStrategy = new OneForOneSupervisorStrategy(3, e -> SupervisorStrategyDirective.RESTART);
+        this.unhandledMessageHandler = new DefaultUnhandledMessageHandler(null, deadLetters);
     }
 
     public ActorSystemConfig(Scheduler scheduler, SupervisorStrategy supervisorStrategy) {
         this.scheduler = scheduler;
         this.supervisorStrategy = supervisorStrategy;
+        this.unhandledMessageHandler = new DefaultUnhandledMessageHandler(null, deadLetters);
     }
 
     public ActorSystemConfig(Scheduler scheduler, MeterRegistry meterRegistry) {
         this.scheduler = scheduler;
         this.meterRegistry = meterRegistry;
         this.supervisorStrategy = new OneForOneSupervisorStrategy(3, e -> SupervisorStrategyDirective.RESTART);
+        this.unhandledMessageHandler = new DefaultUnhandledMessageHandler(meterRegistry, deadLetters);
     }
 
     public ActorSystemConfig(Scheduler scheduler, MeterRegistry meterRegistry,
@@ -44,6 +61,15 @@ public class ActorSystemConfig {
         this.scheduler = scheduler;
         this.meterRegistry = meterRegistry;
         this.supervisorStrategy = supervisorStrategy;
+        this.unhandledMessageHandler = new DefaultUnhandledMessageHandler(meterRegistry, deadLetters);
+    }
+
+    public ActorSystemConfig(Scheduler scheduler, MeterRegistry meterRegistry,
+                             SupervisorStrategy supervisorStrategy, UnhandledMessageHandler unhandledMessageHandler) {
+        this.scheduler = scheduler;
+        this.meterRegistry = meterRegistry;
+        this.supervisorStrategy = supervisorStrategy;
+        this.unhandledMessageHandler = unhandledMessageHandler;
     }
 
     public Scheduler getScheduler() {
@@ -57,4 +83,12 @@ public class ActorSystemConfig {
     public SupervisorStrategy getSupervisorStrategy() {
         return supervisorStrategy;
     }
+
+    public UnhandledMessageHandler getUnhandledMessageHandler() {
+        return unhandledMessageHandler;
+    }
+
+    public DeadLetters getDeadLetters() {
+        return deadLetters;
+    }
 }
\ No newline at end of file
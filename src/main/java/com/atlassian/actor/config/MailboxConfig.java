@@ -0,0 +1,145 @@
+package com.atlassian.actor.config;
+
+import com.atlassian.actor.model.OverflowStrategy;
+
+import java.time.Duration;
+import java.util.function.ToIntFunction;
+
+/**
+ * Configuration of the mailbox (message queue) of an actor.
+ * By default, an actor uses a FIFO mailbox. A priority mailbox can be created using {@link #priorityMailbox(int, ToIntFunction)}.
+ */
+public class MailboxConfig {
+    private static final MailboxConfig DEFAULT = new MailboxConfig(1, null, OverflowStrategy.FAIL, Duration.ZERO, false, false);
+
+    /**
+     * Number of priority bands in the mailbox. Band 0 has the highest priority.
+     */
+    private final int priorityBands;
+    /**
+     * Function mapping a message to its priority band. Messages in the same band are processed in FIFO order.
+     */
+    private final ToIntFunction<Object> priorityFunction;
+    /**
+     * Strategy applied when the mailbox is full. Default is {@link OverflowStrategy#FAIL}.
+     */
+    private final OverflowStrategy overflowStrategy;
+    /**
+     * Max time to wait for room in the mailbox with {@link OverflowStrategy#BLOCK}.
+     */
+    private final Duration blockTimeout;
+    /**
+     * Compact mailbox minimises the memory held by an idle actor.
+     */
+    private final boolean compact;
+    /**
+     * Preallocated mailbox holds messages in a fixed array sized to the queue size, so publishing doesn't allocate.
+     */
+    private final boolean preallocated;
+
+    private MailboxConfig(int priorityBands, ToIntFunction<Object> priorityFunction,
+                          OverflowStrategy overflowStrategy, Duration blockTimeout, boolean compact, boolean preallocated) {
+        this.priorityBands = priorityBands;
+        this.priorityFunction = priorityFunction;
+        this.overflowStrategy = overflowStrategy;
+        this.blockTimeout = blockTimeout;
+        this.compact = compact;
+        this.preallocated = preallocated;
+    }
+
+    /**
+     * Default FIFO mailbox.
+     * @return {@link MailboxConfig}
+     */
+    public static MailboxConfig defaultMailbox() {
+        return DEFAULT;
+    }
+
+    /**
+     * Priority mailbox with a fixed number of bands. Messages are processed from the lowest band index first,
+     * and in FIFO order within a band. Out of range band indexes are clamped to the nearest band.
+     * @param priorityBands number of priority bands, must be greater than 0
+     * @param priorityFunction function mapping a message to its band, 0 being the highest priority
+     * @return {@link MailboxConfig}
+     */
+    public static MailboxConfig priorityMailbox(int priorityBands, ToIntFunction<Object> priorityFunction) {
+        if (priorityBands < 1) {
+            throw new IllegalArgumentException("priorityBands must be greater than 0, found " + priorityBands);
+        }
+        if (priorityFunction == null) {
+            throw new IllegalArgumentException("priorityFunction can't be null");
+        }
+        return new MailboxConfig(priorityBands, priorityFunction, OverflowStrategy.FAIL, Duration.ZERO, false, false);
+    }
+
+    /**
+     * Copy of this config with the given overflow strategy.
+     * Use {@link #withBlockingOverflow(Duration)} for {@link OverflowStrategy#BLOCK}.
+     * @param overflowStrategy {@link OverflowStrategy} applied when the mailbox is full
+     * @return {@link MailboxConfig}
+     */
+    public MailboxConfig withOverflowStrategy(OverflowStrategy overflowStrategy) {
+        if (overflowStrategy == OverflowStrategy.BLOCK) {
+            throw new IllegalArgumentException("Use withBlockingOverflow to provide the block timeout");
+        }
+        return new MailboxConfig(priorityBands, priorityFunction, overflowStrategy, Duration.ZERO, compact, preallocated);
+    }
+
+    /**
+     * Copy of this config with {@link OverflowStrategy#BLOCK}, waiting up to blockTimeout for room in the mailbox.
+     * @param blockTimeout max time the publisher waits
+     * @return {@link MailboxConfig}
+     */
+    public MailboxConfig withBlockingOverflow(Duration blockTimeout) {
+        return new MailboxConfig(priorityBands, priorityFunction, OverflowStrategy.BLOCK, blockTimeout, compact, preallocated);
+    }
+
+    /**
+     * Copy of this config with compact footprint, meant for a large number of mostly idle actors.
+     * An unbounded compact mailbox is a lock-free linked queue instead of a LinkedBlockingQueue, which allocates its
+     * locks &amp; conditions for every actor. Messages are not prefetched in either mode, as the scheduler polls the
+     * mailbox directly.
+     * @return {@link MailboxConfig}
+     */
+    public MailboxConfig withCompactFootprint() {
+        return new MailboxConfig(priorityBands, priorityFunction, overflowStrategy, blockTimeout, true, preallocated);
+    }
+
+    /**
+     * Copy of this config with preallocated mailbox slots, meant for busy actors on a hot path.
+     * The mailbox is an array sized to the queue size of the actor, so a tell doesn't allocate a queue node.
+     * Requires a bounded queue size &amp; doesn't apply to a priority mailbox.
+     * @return {@link MailboxConfig}
+     */
+    public MailboxConfig withPreallocatedSlots() {
+        return new MailboxConfig(priorityBands, priorityFunction, overflowStrategy, blockTimeout, compact, true);
+    }
+
+    public boolean isPriorityMailbox() {
+        return priorityFunction != null;
+    }
+
+    public int getPriorityBands() {
+        return priorityBands;
+    }
+
+    public ToIntFunction<Object> getPriorityFunction() {
+        return priorityFunction;
+    }
+
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    public Duration getBlockTimeout() {
+        return blockTimeout;
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public boolean isPreallocated() {
+        return preallocated;
+    }
+}
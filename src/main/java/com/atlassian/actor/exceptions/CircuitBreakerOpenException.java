@@ -0,0 +1,7 @@
+package com.atlassian.actor.exceptions;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+    public CircuitBreakerOpenException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,7 @@
+package com.atlassian.actor.exceptions;
+
+public class StashOverflowException extends RuntimeException {
+    public StashOverflowException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,107 @@
+package com.atlassian.actor.mailbox;
+
+import com.google.common.collect.Iterators;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Mailbox with a control channel in front of the user mailbox. Control messages go to their own unbounded queue &amp;
+ * are always polled first. User messages are only polled while the gate is open, so closing it stops the consumer
+ * without moving any message: they stay in the user mailbox &amp; are polled in order once the gate opens again.
+ * <p>
+ * Signals are small messages which must never be rejected or dropped, e.g. the demand of a stream. They go to their
+ * own unbounded queue behind the gate &amp; are polled ahead of the user mailbox. They don't count against its bound,
+ * so whoever sends them must bound their number.
+ * <p>
+ * The gate is only checked on poll, so it has to be opened from the consumer itself, e.g. while it processes a control
+ * message, for the consumer to carry on with the user mailbox.
+ */
+public class GatedMailbox extends AbstractQueue<Object> {
+    private final Queue<Object> controlMessages = new ConcurrentLinkedQueue<>();
+    private final Queue<Object> signals = new ConcurrentLinkedQueue<>();
+    private final Queue<Object> userMessages;
+    private final Predicate<Object> isControlMessage;
+    private final Predicate<Object> isSignal;
+    private final BooleanSupplier isOpen;
+
+    /**
+     * @param userMessages     mailbox of the user messages, which bounds the mailbox
+     * @param isControlMessage tells which messages go to the control channel
+     * @param isSignal         tells which messages go to the signals, which are never rejected
+     * @param isOpen           tells whether user messages &amp; signals can be polled
+     */
+    public GatedMailbox(Queue<Object> userMessages, Predicate<Object> isControlMessage, Predicate<Object> isSignal,
+                        BooleanSupplier isOpen) {
+        this.userMessages = userMessages;
+        this.isControlMessage = isControlMessage;
+        this.isSignal = isSignal;
+        this.isOpen = isOpen;
+    }
+
+    @Override
+    public boolean offer(Object message) {
+        if (message == null) {
+            throw new NullPointerException("Message cannot be null");
+        }
+        if (isControlMessage.test(message)) {
+            return controlMessages.offer(message);
+        } else if (isSignal.test(message)) {
+            return signals.offer(message);
+        }
+        return userMessages.offer(message);
+    }
+
+    @Override
+    public Object poll() {
+        Object message = controlMessages.poll();
+        if (message != null || !isOpen.getAsBoolean()) {
+            return message;
+        }
+        message = signals.poll();
+        return message != null ? message : userMessages.poll();
+    }
+
+    @Override
+    public Object peek() {
+        Object message = controlMessages.peek();
+        if (message != null || !isOpen.getAsBoolean()) {
+            return message;
+        }
+        message = signals.peek();
+        return message != null ? message : userMessages.peek();
+    }
+
+    /**
+     * @return true if there is nothing to poll, user messages &amp; signals behind a closed gate don't count
+     */
+    @Override
+    public boolean isEmpty() {
+        return controlMessages.isEmpty() && (!isOpen.getAsBoolean() || (signals.isEmpty() && userMessages.isEmpty()));
+    }
+
+    @Override
+    public int size() {
+        return controlMessages.size() + signals.size() + userMessages.size();
+    }
+
+    @Override
+    public void clear() {
+        controlMessages.clear();
+        signals.clear();
+        userMessages.clear();
+    }
+
+    /**
+     * Iterates the control messages, the signals, then the user messages. The returned iterator doesn't support removal.
+     */
+    @Override
+    public Iterator<Object> iterator() {
+        return Iterators.unmodifiableIterator(Iterators.concat(controlMessages.iterator(), signals.iterator(),
+                userMessages.iterator()));
+    }
+}
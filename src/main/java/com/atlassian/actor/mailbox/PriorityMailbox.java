@@ -0,0 +1,127 @@
+package com.atlassian.actor.mailbox;
+
+import com.google.common.collect.Iterators;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded mailbox made of a fixed set of priority bands, each one a lock-free FIFO queue.
+ * Enqueue only touches the band of the message, so producers never contend on a global lock or heap.
+ * Dequeue returns the oldest message of the highest priority (lowest index) non-empty band.
+ */
+public class PriorityMailbox extends AbstractQueue<Object> {
+    private final Queue<Object>[] bands;
+    private final ToIntFunction<Object> priorityFunction;
+    private final int capacity;
+    private final AtomicInteger count = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    public PriorityMailbox(int capacity, int priorityBands, ToIntFunction<Object> priorityFunction) {
+        this.capacity = capacity;
+        this.priorityFunction = priorityFunction;
+        this.bands = new Queue[priorityBands];
+        for (int i = 0; i < priorityBands; i++) {
+            bands[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    @Override
+    public boolean offer(Object message) {
+        if (message == null) {
+            throw new NullPointerException("Message cannot be null");
+        }
+        int current;
+        do {
+            current = count.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!count.compareAndSet(current, current + 1));
+        bands[bandOf(message)].offer(message);
+        return true;
+    }
+
+    @Override
+    public Object poll() {
+        for (Queue<Object> band : bands) {
+            Object message = band.poll();
+            if (message != null) {
+                count.decrementAndGet();
+                return message;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object peek() {
+        for (Queue<Object> band : bands) {
+            Object message = band.peek();
+            if (message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object message) {
+        for (Queue<Object> band : bands) {
+            if (band.remove(message)) {
+                count.decrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove the oldest message of the lowest priority band which has a message matching the filter, e.g. to make room
+     * for a new message without dropping the high priority ones.
+     *
+     * @return the removed message, null if no message matches
+     */
+    public Object removeOldestOfLowestPriority(Predicate<Object> filter) {
+        for (int i = bands.length - 1; i >= 0; i--) {
+            for (Object message : bands[i]) {
+                if (filter.test(message) && bands[i].remove(message)) {
+                    count.decrementAndGet();
+                    return message;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Iterates the messages in processing order. The returned iterator doesn't support removal, use {@link #remove(Object)}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<Object> iterator() {
+        Iterator<Object>[] iterators = new Iterator[bands.length];
+        for (int i = 0; i < bands.length; i++) {
+            iterators[i] = bands[i].iterator();
+        }
+        return Iterators.unmodifiableIterator(Iterators.concat(iterators));
+    }
+
+    private int bandOf(Object message) {
+        int band = priorityFunction.applyAsInt(message);
+        if (band < 0) {
+            return 0;
+        }
+        return Math.min(band, bands.length - 1);
+    }
+}
@@ -0,0 +1,19 @@
+package com.atlassian.actor.model;
+
+/**
+ * Message delivered to the asking actor when no reply arrives in time for a non-blocking ask.
+ */
+public class AskTimeout {
+    private final Object request;
+
+    public AskTimeout(Object request) {
+        this.request = request;
+    }
+
+    /**
+     * @return the message for which no reply arrived
+     */
+    public Object getRequest() {
+        return request;
+    }
+}
@@ -0,0 +1,27 @@
+package com.atlassian.actor.model;
+
+import com.atlassian.actor.ActorRef;
+
+/**
+ * A message which couldn't be handled by its recipient.
+ */
+public class DeadLetter {
+    private final Object message;
+    private final ActorRef recipient;
+
+    public DeadLetter(Object message, ActorRef recipient) {
+        this.message = message;
+        this.recipient = recipient;
+    }
+
+    public Object getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the actor which couldn't handle the message, null if it's not known
+     */
+    public ActorRef getRecipient() {
+        return recipient;
+    }
+}
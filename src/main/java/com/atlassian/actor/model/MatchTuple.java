@@ -7,10 +7,36 @@ import java.util.function.Predicate;
 public class MatchTuple {
     private final Predicate<Object> predicate;
     private final ActorConsumer<Object> action;
+    // type of the messages which can match, null if any message can match.
+    private final Class<?> type;
+    // part of the predicate left to test once the type is known to match, null if every message of the type matches.
+    private final Predicate<Object> guard;
 
     public MatchTuple(Predicate<Object> predicate, ActorConsumer<Object> action) {
         this.predicate = predicate;
         this.action = action;
+        this.type = null;
+        this.guard = predicate;
+    }
+
+    /**
+     * Match every message of the given type.
+     */
+    public MatchTuple(Class<?> type, ActorConsumer<Object> action) {
+        this.predicate = type::isInstance;
+        this.action = action;
+        this.type = type;
+        this.guard = null;
+    }
+
+    /**
+     * Match messages of the given type for which the guard is true. The guard is only tested with messages of the type.
+     */
+    public MatchTuple(Class<?> type, Predicate<Object> guard, ActorConsumer<Object> action) {
+        this.predicate = message -> type.isInstance(message) && guard.test(message);
+        this.action = action;
+        this.type = type;
+        this.guard = guard;
     }
 
     public Predicate<Object> getPredicate() {
@@ -20,4 +46,16 @@ public class MatchTuple {
     public ActorConsumer<Object> getAction() {
         return action;
     }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Predicate<Object> getGuard() {
+        return guard;
+    }
+
+    public boolean isGuarded() {
+        return guard != null;
+    }
 }
@@ -0,0 +1,28 @@
+package com.atlassian.actor.model;
+
+/**
+ * Strategy applied when a message is published to an actor whose mailbox is full.
+ */
+public enum OverflowStrategy {
+    /**
+     * Reject the message. tell throws {@link com.atlassian.actor.exceptions.QueueOverflowException}. This is the default.
+     */
+    FAIL,
+    /**
+     * Silently drop the message being published.
+     */
+    DROP_NEWEST,
+    /**
+     * Drop the oldest queued message to make room for the message being published.
+     */
+    DROP_OLDEST,
+    /**
+     * Wait for the mailbox to have room, up to the configured block timeout, then reject the message as {@link #FAIL}.
+     * An actor should never block on its own mailbox.
+     */
+    BLOCK,
+    /**
+     * Send the message to dead letters.
+     */
+    DEAD_LETTER
+}
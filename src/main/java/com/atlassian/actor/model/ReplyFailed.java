@@ -0,0 +1,16 @@
+package com.atlassian.actor.model;
+
+/**
+ * Message delivered to an actor when the future piped to it, or the reply it asked for, completes with an error.
+ */
+public class ReplyFailed {
+    private final Throwable error;
+
+    public ReplyFailed(Throwable error) {
+        this.error = error;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+}
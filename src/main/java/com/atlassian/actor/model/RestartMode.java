@@ -0,0 +1,17 @@
+package com.atlassian.actor.model;
+
+/**
+ * How an actor is restarted by the RESTART directive of its supervisor.
+ */
+public enum RestartMode {
+    /**
+     * Create a new instance of the actor from its supplier, calling preRestart on the old one &amp; postRestart on the
+     * new one. This is the default.
+     */
+    RECREATE,
+    /**
+     * Keep the instance of the actor &amp; call its reset hook instead, so in-memory state like warm caches survives
+     * the restart. The actor reverts to its initial behaviour.
+     */
+    RESET
+}
@@ -0,0 +1,19 @@
+package com.atlassian.actor.model;
+
+import com.atlassian.actor.ActorEmitter;
+
+/**
+ * Message delivered to an actor when the downstream of a stream created with {@link com.atlassian.actor.ActorRef#asFlux()}
+ * cancels. Elements emitted after cancellation are discarded.
+ */
+public class StreamCancelled {
+    private final ActorEmitter<?> emitter;
+
+    public StreamCancelled(ActorEmitter<?> emitter) {
+        this.emitter = emitter;
+    }
+
+    public ActorEmitter<?> getEmitter() {
+        return emitter;
+    }
+}
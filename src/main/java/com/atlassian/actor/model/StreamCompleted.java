@@ -0,0 +1,16 @@
+package com.atlassian.actor.model;
+
+/**
+ * A singleton message delivered to an actor when the stream it is subscribed to completes.
+ */
+public class StreamCompleted {
+
+    private StreamCompleted() {
+    }
+
+    private static final StreamCompleted instance = new StreamCompleted();
+
+    public static StreamCompleted getInstance() {
+        return instance;
+    }
+}
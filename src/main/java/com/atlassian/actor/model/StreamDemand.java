@@ -0,0 +1,30 @@
+package com.atlassian.actor.model;
+
+import com.atlassian.actor.ActorEmitter;
+
+/**
+ * Message delivered to an actor when the downstream of a stream created with {@link com.atlassian.actor.ActorRef#asFlux()}
+ * requests more elements. The first demand of a stream also signals its subscription.
+ */
+public class StreamDemand {
+    private final ActorEmitter<?> emitter;
+    private final long requested;
+
+    public StreamDemand(ActorEmitter<?> emitter, long requested) {
+        this.emitter = emitter;
+        this.requested = requested;
+    }
+
+    /**
+     * @param <T> type of the stream elements
+     * @return {@link ActorEmitter} of the stream
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ActorEmitter<T> getEmitter() {
+        return (ActorEmitter<T>) emitter;
+    }
+
+    public long getRequested() {
+        return requested;
+    }
+}
@@ -0,0 +1,16 @@
+package com.atlassian.actor.model;
+
+/**
+ * Message delivered to an actor when the stream it is subscribed to terminates with an error.
+ */
+public class StreamFailed {
+    private final Throwable error;
+
+    public StreamFailed(Throwable error) {
+        this.error = error;
+    }
+
+    public Throwable getError() {
+        return error;
+    }
+}
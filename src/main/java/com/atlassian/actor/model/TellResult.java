@@ -0,0 +1,28 @@
+package com.atlassian.actor.model;
+
+/**
+ * Outcome of publishing a message to an actor with {@link com.atlassian.actor.ActorRef#tryTell(Object)}.
+ */
+public enum TellResult {
+    /**
+     * Message is accepted by the actor and will be processed.
+     */
+    ACCEPTED,
+    /**
+     * Mailbox is full and the message was dropped as per {@link OverflowStrategy#DROP_NEWEST}.
+     */
+    DROPPED,
+    /**
+     * Mailbox is full and the message was rejected as per {@link OverflowStrategy#FAIL} or {@link OverflowStrategy#BLOCK}.
+     */
+    MAILBOX_FULL,
+    /**
+     * Message was sent to dead letters, either because the actor is terminating/terminated
+     * or as per {@link OverflowStrategy#DEAD_LETTER}.
+     */
+    DEAD_LETTER;
+
+    public boolean isAccepted() {
+        return this == TellResult.ACCEPTED;
+    }
+}
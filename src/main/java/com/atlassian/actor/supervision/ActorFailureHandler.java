@@ -2,6 +2,7 @@ package com.atlassian.actor.supervision;
 
 import com.atlassian.actor.ActorCore;
 import com.atlassian.actor.model.ErrorData;
+import com.atlassian.actor.model.RestartMode;
 import com.atlassian.actor.model.SupervisorStrategyDirective;
 import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
 import org.slf4j.Logger;
@@ -11,12 +12,29 @@ public abstract class ActorFailureHandler {
 
     private static final Logger log = LoggerFactory.getLogger(ActorFailureHandler.class);
 
-    private final SupervisorStrategy parentSupervisorStrategy;
+    // taken once from the strategy, so the actor rejects messages with the breaker its failures are recorded in.
+    private final CircuitBreaker circuitBreaker;
+    private final RestartMode restartMode;
     protected final ActorCore actorCore;
 
     protected ActorFailureHandler(ActorCore actorCore, SupervisorStrategy parentSupervisorStrategy) {
         this.actorCore = actorCore;
-        this.parentSupervisorStrategy = parentSupervisorStrategy;
+        this.circuitBreaker = parentSupervisorStrategy.getCircuitBreaker();
+        this.restartMode = parentSupervisorStrategy.getRestartMode();
+    }
+
+    /**
+     * @return circuit breaker of the parent supervisor strategy, null if there is none
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return how the actor is restarted, taken from the parent supervisor strategy when the actor is created
+     */
+    public RestartMode getRestartMode() {
+        return restartMode;
     }
 
     protected abstract void refreshRestartHistory(ErrorData e);
@@ -37,7 +55,7 @@ public abstract class ActorFailureHandler {
         log.error("Actor {} handling error {}, in actor {}", actorCore.getName(), errorData.getError().getMessage(),
                 errorData.getActorRef().getName(), errorData.getError());
         refreshRestartHistory(errorData);
-        switch (getSupervisorDirective(errorData)) {
+        switch (circuitBreakerDirective(getSupervisorDirective(errorData))) {
             case RESUME:
                 resume(errorData);
                 break;
@@ -65,7 +83,7 @@ public abstract class ActorFailureHandler {
      * This method is used to stop the actor.
      * @param errorData {@link ErrorData} - error data
      */
-    private void stop(ErrorData errorData) {
+    protected void stop(ErrorData errorData) {
         log.info("Stopping actor {} due to error in errorActor {} with exception {} ", actorCore.getName(), errorData.getActorRef().getName(), errorData.getError().toString());
         actorCore.pause();
         actorCore.terminate();
@@ -79,6 +97,23 @@ public abstract class ActorFailureHandler {
         log.info("Resuming after exception {}", errorData.getError().toString());
     }
 
+    /**
+     * Record the failure in the circuit breaker of the parent supervisor, if any. While the breaker is open, the actor
+     * is resumed instead of restarted, as restarting it won't help until the failing dependency is back.
+     */
+    private SupervisorStrategyDirective circuitBreakerDirective(SupervisorStrategyDirective directive) {
+        if (circuitBreaker == null) {
+            return directive;
+        }
+        circuitBreaker.recordFailure();
+        if (directive == SupervisorStrategyDirective.RESTART && !circuitBreaker.isClosed()) {
+            log.info("Circuit breaker {} is {}, resuming actor {} instead of restarting it", circuitBreaker.getName(),
+                    circuitBreaker.getState(), actorCore.getName());
+            return SupervisorStrategyDirective.RESUME;
+        }
+        return directive;
+    }
+
     protected int currentRestartCount(ErrorData e) {
         return lastRestartCount(e) + 1;
     }
@@ -1,23 +1,65 @@
 package com.atlassian.actor.supervision;
 
 import com.atlassian.actor.ActorCore;
+import com.atlassian.actor.supervision.strategy.AllForOneSupervisorStrategy;
 import com.atlassian.actor.supervision.strategy.OneForOneBackoffSupervisorStrategy;
 import com.atlassian.actor.supervision.strategy.OneForOneSupervisorStrategy;
 import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Creates the ActorFailureHandler of an actor for the SupervisorStrategy of its parent. Handlers of custom strategies
+ * can be added with {@link #register(Class, BiFunction)} &amp; removed with {@link #unregister(Class)}.
+ */
 public class ActorFailureHandlerFactory {
+    private static final Map<Class<?>, BiFunction<ActorCore, SupervisorStrategy, ActorFailureHandler>> creators =
+            new ConcurrentHashMap<>();
+
+    static {
+        register(OneForOneSupervisorStrategy.class, OneForOneActorFailureHandler::create);
+        register(OneForOneBackoffSupervisorStrategy.class, OneForOneBackoffActorFailureHandler::create);
+        register(AllForOneSupervisorStrategy.class, AllForOneActorFailureHandler::create);
+    }
 
     private ActorFailureHandlerFactory() {
     }
 
+    /**
+     * Register how to create the ActorFailureHandler for a type of SupervisorStrategy, replacing any previous one.
+     * It also applies to the subclasses of the type which have no handler registered themselves.
+     *
+     * @param <S>          type of SupervisorStrategy
+     * @param strategyType type of SupervisorStrategy
+     * @param creator      function creating the handler of an actor, given the actor &amp; the strategy of its parent
+     */
+    @SuppressWarnings("unchecked")
+    public static <S extends SupervisorStrategy> void register(Class<S> strategyType, BiFunction<ActorCore, S, ActorFailureHandler> creator) {
+        creators.put(strategyType, (actorCore, strategy) -> creator.apply(actorCore, (S) strategy));
+    }
+
+    /**
+     * Remove the handler registered for a type of SupervisorStrategy, e.g. to undo a registration in tests. Actors
+     * already created keep their handler.
+     *
+     * @param strategyType type of SupervisorStrategy
+     */
+    public static void unregister(Class<? extends SupervisorStrategy> strategyType) {
+        creators.remove(strategyType);
+    }
+
     public static ActorFailureHandler create(ActorCore actorCore) {
         SupervisorStrategy parentSupervisorStrategy = actorCore.getParentSupervisorStrategy();
-        if (parentSupervisorStrategy instanceof OneForOneSupervisorStrategy) {
-            return OneForOneActorFailureHandler.create(actorCore, (OneForOneSupervisorStrategy) parentSupervisorStrategy);
-        } else if (parentSupervisorStrategy instanceof OneForOneBackoffSupervisorStrategy) {
-            return OneForOneBackoffActorFailureHandler.create(actorCore, (OneForOneBackoffSupervisorStrategy) parentSupervisorStrategy);
-        } else {
-            throw new IllegalArgumentException("Unknown supervisor strategy: " + parentSupervisorStrategy);
+        if (parentSupervisorStrategy != null) {
+            for (Class<?> type = parentSupervisorStrategy.getClass(); type != null; type = type.getSuperclass()) {
+                BiFunction<ActorCore, SupervisorStrategy, ActorFailureHandler> creator = creators.get(type);
+                if (creator != null) {
+                    return creator.apply(actorCore, parentSupervisorStrategy);
+                }
+            }
         }
+        throw new IllegalArgumentException("Unknown supervisor strategy: " + parentSupervisorStrategy);
     }
 }
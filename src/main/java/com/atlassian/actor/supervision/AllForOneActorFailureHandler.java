@@ -0,0 +1,104 @@
+package com.atlassian.actor.supervision;
+
+import com.atlassian.actor.ActorCore;
+import com.atlassian.actor.model.ErrorData;
+import com.atlassian.actor.model.SupervisorStrategyDirective;
+import com.atlassian.actor.supervision.strategy.AllForOneSupervisorStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * AllForOneActorFailureHandler is the implementation of ActorFailureHandler for AllForOneSupervisorStrategy.
+ * A failure of the actor restarts or stops it along with all its siblings, in one pass over the children of the parent.
+ * Restarts are counted for the group of siblings, so maxRetries bounds the restarts of the group, not of each child.
+ */
+public class AllForOneActorFailureHandler extends ActorFailureHandler {
+    private static final Logger log = LoggerFactory.getLogger(AllForOneActorFailureHandler.class);
+    // shared with the siblings through the parent.
+    private final GroupRestarts groupRestarts;
+    private final AllForOneSupervisorStrategy parentSupervisorStrategy; // supervisorStrategy of parent actor
+
+    private AllForOneActorFailureHandler(ActorCore actorCore, AllForOneSupervisorStrategy parentSupervisorStrategy) {
+        super(actorCore, parentSupervisorStrategy);
+        this.parentSupervisorStrategy = parentSupervisorStrategy;
+        ActorCore parent = actorCore.getParentActorCore();
+        GroupRestarts restarts = parent != null ? parent.getChildGroupRestarts(parentSupervisorStrategy.getRestartConfig()) : null;
+        this.groupRestarts = restarts != null
+                ? restarts
+                : new GroupRestarts(RestartHistory.create(parentSupervisorStrategy.getRestartConfig()));
+    }
+
+    public static AllForOneActorFailureHandler create(ActorCore actorCore, AllForOneSupervisorStrategy parentSupervisorStrategy) {
+        return new AllForOneActorFailureHandler(actorCore, parentSupervisorStrategy);
+    }
+
+    @Override
+    protected void refreshRestartHistory(ErrorData e) {
+        // do nothing
+    }
+
+    @Override
+    protected int lastRestartCount(ErrorData e) {
+        return groupRestarts.getRestartHistory().count(e.getError().getClass());
+    }
+
+    @Override
+    protected void updateRestartHistory(ErrorData e) {
+        log.warn("Actor got restarted till now {}", lastRestartCount(e));
+        groupRestarts.getRestartHistory().record(e.getError().getClass());
+    }
+
+    @Override
+    protected SupervisorStrategyDirective getSupervisorDirective(ErrorData errorData) {
+        SupervisorStrategyDirective directive = parentSupervisorStrategy.handle(errorData);
+        if (directive == SupervisorStrategyDirective.RESTART) {
+            boolean shouldRestart = parentSupervisorStrategy.getRestartConfig().shouldRestart(currentRestartCount(errorData));
+            return shouldRestart ? directive : SupervisorStrategyDirective.STOP;
+        } else {
+            return directive;
+        }
+    }
+
+    /**
+     * This method is used to restart the actor &amp; all its siblings without any backoff interval.
+     * All siblings are paused before any of them is restarted, so none of them processes messages while the others
+     * are restarting. A sibling failing while the group is restarting, or before it processed its pending restart,
+     * doesn't restart the group again.
+     *
+     * @param errorData {@link ErrorData} - error data
+     */
+    @Override
+    protected void restart(ErrorData errorData) {
+        if (!groupRestarts.tryStart()) {
+            log.info("Actor {} failed while its siblings are being restarted", actorCore.getName());
+            return;
+        }
+        try {
+            // a paused actor already has the restart of the group in its mailbox.
+            if (actorCore.isPaused()) {
+                log.info("Actor {} failed before processing the restart of its siblings", actorCore.getName());
+                return;
+            }
+            ActorCore parent = actorCore.getParentActorCore();
+            log.info("Restarting actor {} & its siblings due to error in errorActor {} with exception {} ", actorCore.getName(),
+                    errorData.getActorRef().getName(), errorData.getError().toString());
+            updateRestartHistory(errorData);
+            parent.pauseAllChildren();
+            parent.restartAllChildren(errorData);
+        } finally {
+            groupRestarts.finish();
+        }
+    }
+
+    /**
+     * This method is used to stop the actor &amp; all its siblings.
+     *
+     * @param errorData {@link ErrorData} - error data
+     */
+    @Override
+    protected void stop(ErrorData errorData) {
+        log.info("Stopping actor {} & its siblings due to error in errorActor {} with exception {} ", actorCore.getName(),
+                errorData.getActorRef().getName(), errorData.getError().toString());
+        actorCore.getParentActorCore().stopAllChildren();
+    }
+}
@@ -0,0 +1,301 @@
+package com.atlassian.actor.supervision;
+
+import com.atlassian.actor.exceptions.CircuitBreakerOpenException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * CircuitBreaker rejects calls to a failing dependency instead of letting every call fail on it.
+ * <p>
+ * While CLOSED, the outcomes of the last calls are counted &amp; the breaker opens once the failure rate of the window
+ * reaches the threshold. They are counted without locking, in buckets of consecutive calls, so the window slides by a
+ * bucket at a time. Buckets hold windowSize / 16 calls, rounded down, so there are at most 31 of them &amp; the window
+ * never exceeds windowSize calls, though from a windowSize of 33 it may hold slightly less, e.g. 96 calls for 100.
+ * While OPEN, calls are rejected with {@link CircuitBreakerOpenException}. After the open duration, one trial call is
+ * let through in HALF_OPEN: if it succeeds the breaker closes, otherwise it opens again. A trial call which doesn't
+ * report its outcome within the call timeout is replaced by the next call.
+ * <p>
+ * It can be used inside actor handlers through {@link #call(Callable)} &amp; {@link #protect(Mono)}, or be set on a
+ * supervisor strategy, in which case it's shared by the children of the supervisor: failures of the children are
+ * recorded by their failure handler, processed messages by the children themselves, as failures if they took longer
+ * than the call timeout. While the breaker is open the children reject messages instead of processing them, &amp; a
+ * RESTART directive is applied as RESUME, so the children are not restarted over &amp; over for a dependency which is
+ * down.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int MIN_BUCKETS = 16;
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long callTimeoutNanos;
+    private final long openNanos;
+    // outcomes of the last calls while CLOSED, replaced when the breaker closes again.
+    private volatile Window window;
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long trialStartedAt;
+
+    /**
+     * @param name                 name of the breaker, used in the rejections
+     * @param windowSize           number of the last calls the failure rate is computed on
+     * @param minimumCalls         min number of calls in the window before the breaker can open
+     * @param failureRateThreshold failure rate, between 0 &amp; 1, from which the breaker opens
+     * @param callTimeout          calls taking longer are counted as failures
+     * @param openDuration         time the breaker stays open before a trial call is let through
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold, Duration callTimeout,
+                          Duration openDuration) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be greater than 0, found " + windowSize);
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold must be in (0, 1], found " + failureRateThreshold);
+        }
+        this.name = name;
+        this.windowSize = windowSize;
+        this.window = new Window(windowSize);
+        // the window may hold a bit less than windowSize calls, it must still be able to open.
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.capacity()));
+        this.failureRateThreshold = failureRateThreshold;
+        this.callTimeoutNanos = callTimeout.toNanos();
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Breaker which can open once its window is full.
+     */
+    public CircuitBreaker(String name, int windowSize, double failureRateThreshold, Duration callTimeout, Duration openDuration) {
+        this(name, windowSize, windowSize, failureRateThreshold, callTimeout, openDuration);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return current state, an OPEN breaker only moves to HALF_OPEN once a call is attempted after the open duration
+     */
+    public State getState() {
+        return state;
+    }
+
+    public boolean isClosed() {
+        return state == State.CLOSED;
+    }
+
+    public Duration getCallTimeout() {
+        return Duration.ofNanos(callTimeoutNanos);
+    }
+
+    /**
+     * @return true if a call may go ahead, in which case its outcome must be recorded
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            switch (state) {
+                case OPEN:
+                    if (now - openedAt < openNanos) {
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    return startTrial(now);
+                case HALF_OPEN:
+                    return (!trialInFlight || now - trialStartedAt >= callTimeoutNanos) && startTrial(now);
+                default:
+                    return true;
+            }
+        }
+    }
+
+    public void recordSuccess() {
+        if (state == State.CLOSED) {
+            window.record(false);
+            return;
+        }
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                close();
+            }
+        }
+    }
+
+    public void recordFailure() {
+        if (state == State.CLOSED) {
+            Window current = window;
+            if (current.reachesFailureRate(current.record(true), minimumCalls, failureRateThreshold)) {
+                synchronized (this) {
+                    // another failure may have opened it already, or a trial may have closed it with a new window.
+                    if (state == State.CLOSED && window == current) {
+                        open();
+                    }
+                }
+            }
+            return;
+        }
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Record a call which didn't throw. A call which took longer than the call timeout is counted as a failure.
+     *
+     * @param startNanos {@link System#nanoTime()} when the call started
+     */
+    public void recordCompletion(long startNanos) {
+        if (System.nanoTime() - startNanos > callTimeoutNanos) {
+            recordFailure();
+        } else {
+            recordSuccess();
+        }
+    }
+
+    /**
+     * Run the call if the breaker permits it. A call which throws or takes longer than the call timeout is counted as
+     * a failure, a slow call still returns its result.
+     *
+     * @throws CircuitBreakerOpenException if the breaker rejects the call
+     */
+    public <T> T call(Callable<T> callable) throws Exception {
+        if (!tryAcquirePermission()) {
+            throw rejection();
+        }
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = callable.call();
+        } catch (Exception e) {
+            recordFailure();
+            throw e;
+        }
+        recordCompletion(start);
+        return result;
+    }
+
+    /**
+     * @return mono which subscribes to the given one if the breaker permits it, fails with
+     * {@link CircuitBreakerOpenException} otherwise. Errors &amp; the call timeout are counted as failures.
+     */
+    public <T> Mono<T> protect(Mono<T> mono) {
+        return Mono.defer(() -> {
+            if (!tryAcquirePermission()) {
+                return Mono.error(rejection());
+            }
+            return mono.timeout(Duration.ofNanos(callTimeoutNanos))
+                    .doOnSuccess(ignored -> recordSuccess())
+                    .doOnError(ignored -> recordFailure());
+        });
+    }
+
+    public CircuitBreakerOpenException rejection() {
+        return new CircuitBreakerOpenException("Circuit breaker " + name + " is " + state + ", call is rejected");
+    }
+
+    private boolean startTrial(long now) {
+        trialInFlight = true;
+        trialStartedAt = now;
+        return true;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        trialInFlight = false;
+    }
+
+    private void close() {
+        window = new Window(windowSize);
+        state = State.CLOSED;
+        trialInFlight = false;
+    }
+
+    /**
+     * Failures of the last calls, in buckets of bucketSize consecutive calls. A bucket slot is reused by the bucket
+     * of calls coming bucketCount buckets later, which resets it. Recording a success only touches the call counter,
+     * unless it starts a new bucket.
+     */
+    private static final class Window {
+        private final int bucketSize;
+        private final AtomicLong calls = new AtomicLong();
+        // per slot, the low 32 bits of the index of its bucket in the high half & its failures in the low half.
+        private final AtomicLongArray buckets;
+
+        Window(int windowSize) {
+            // rounded down, so that the buckets never hold more than windowSize calls.
+            this.bucketSize = Math.max(1, windowSize / MIN_BUCKETS);
+            this.buckets = new AtomicLongArray(windowSize / bucketSize);
+        }
+
+        /**
+         * @return max number of calls in the window
+         */
+        int capacity() {
+            return bucketSize * buckets.length();
+        }
+
+        /**
+         * @return index of the recorded call
+         */
+        long record(boolean failure) {
+            long call = calls.getAndIncrement();
+            long bucket = call / bucketSize;
+            int slot = (int) (bucket % buckets.length());
+            while (true) {
+                long current = buckets.get(slot);
+                // compared on 32 bits, so the bucket index may wrap around.
+                int age = (int) bucket - (int) (current >>> 32);
+                long next;
+                if (age == 0) {
+                    if (!failure) {
+                        return call;
+                    }
+                    next = current + 1;
+                } else if (age > 0) {
+                    next = (bucket << 32) | (failure ? 1 : 0);
+                } else {
+                    // a later bucket of calls already took the slot, so this call is out of the window.
+                    return call;
+                }
+                if (buckets.compareAndSet(slot, current, next)) {
+                    return call;
+                }
+            }
+        }
+
+        /**
+         * @return true if the failure rate of the window ending with the given call reaches the threshold
+         */
+        boolean reachesFailureRate(long call, int minimumCalls, double failureRateThreshold) {
+            long lastBucket = call / bucketSize;
+            long firstBucket = Math.max(0, lastBucket - buckets.length() + 1);
+            long windowCalls = call + 1 - firstBucket * bucketSize;
+            if (windowCalls < minimumCalls) {
+                return false;
+            }
+            long failures = 0;
+            for (long bucket = firstBucket; bucket <= lastBucket; bucket++) {
+                long current = buckets.get((int) (bucket % buckets.length()));
+                if ((int) (current >>> 32) == (int) bucket) {
+                    failures += (int) current;
+                }
+            }
+            return failures >= failureRateThreshold * windowCalls;
+        }
+    }
+}
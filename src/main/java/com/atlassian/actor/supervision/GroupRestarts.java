@@ -0,0 +1,31 @@
+package com.atlassian.actor.supervision;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Restarts of the children of a supervisor which restarts them as a group, e.g. with the all-for-one strategy.
+ * A restart of the group counts once, whichever child failed, &amp; only one restart of the group runs at a time.
+ */
+public class GroupRestarts {
+    private final RestartHistory restartHistory;
+    private final AtomicBoolean restarting = new AtomicBoolean();
+
+    public GroupRestarts(RestartHistory restartHistory) {
+        this.restartHistory = restartHistory;
+    }
+
+    public RestartHistory getRestartHistory() {
+        return restartHistory;
+    }
+
+    /**
+     * @return true if no other restart of the group is running, in which case {@link #finish()} must be called
+     */
+    public boolean tryStart() {
+        return restarting.compareAndSet(false, true);
+    }
+
+    public void finish() {
+        restarting.set(false);
+    }
+}
@@ -7,20 +7,19 @@ import com.atlassian.actor.supervision.strategy.OneForOneSupervisorStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
  * OneForOneActorFailureHandler is the implementation of ActorFailureHandler for OneForOneSupervisorStrategy.
  * It provides the implementation of handling exceptions thrown while processing messages in actor.
  */
 public class OneForOneActorFailureHandler extends ActorFailureHandler {
     private static final Logger log = LoggerFactory.getLogger(OneForOneActorFailureHandler.class);
-    private final ConcurrentHashMap<String, Integer> restartCountMap = new ConcurrentHashMap<>();
+    private final RestartHistory restartHistory;
     private final OneForOneSupervisorStrategy parentSupervisorStrategy; // supervisorStrategy of parent actor
 
     private OneForOneActorFailureHandler(ActorCore actorCore, OneForOneSupervisorStrategy parentSupervisorStrategy) {
         super(actorCore, parentSupervisorStrategy);
         this.parentSupervisorStrategy = parentSupervisorStrategy;
+        this.restartHistory = RestartHistory.create(parentSupervisorStrategy.getRestartConfig());
     }
 
     public static OneForOneActorFailureHandler create(ActorCore actorCore, OneForOneSupervisorStrategy parentSupervisorStrategy) {
@@ -34,14 +33,13 @@ public class OneForOneActorFailureHandler extends ActorFailureHandler {
 
     @Override
     protected int lastRestartCount(ErrorData e) {
-        String error = e.getError().toString();
-        return restartCountMap.get(error) == null ? 0 : restartCountMap.get(error);
+        return restartHistory.count(e.getError().getClass());
     }
 
     @Override
     protected void updateRestartHistory(ErrorData e) {
         log.warn("Actor got restarted till now {}", lastRestartCount(e));
-        restartCountMap.put(e.getError().toString(), currentRestartCount(e));
+        restartHistory.record(e.getError().getClass());
     }
 
     @Override
@@ -9,8 +9,7 @@ import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.time.Instant;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * OneForOneBackoffActorFailureHandler is the implementation of ActorFailureHandler for OneForOneBackoffSuperVisorStrategy.
@@ -18,13 +17,18 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class OneForOneBackoffActorFailureHandler extends ActorFailureHandler {
     private static final Logger log = LoggerFactory.getLogger(OneForOneBackoffActorFailureHandler.class);
-    private final ConcurrentHashMap<String, RestartHistory> restartCountMap = new ConcurrentHashMap<>();
+    private final RestartHistory restartHistory;
+    // set while a restart is scheduled, so concurrent failures of the actor are coalesced into that restart.
+    private final AtomicBoolean restartPending = new AtomicBoolean();
+    // backoff interval of the last restart, from which decorrelated jitter grows.
+    private volatile Duration lastBackoffInterval;
 
     private final OneForOneBackoffSupervisorStrategy parentSupervisorStrategy; // supervisorStrategy of parent actor
 
     private OneForOneBackoffActorFailureHandler(ActorCore actorCore, OneForOneBackoffSupervisorStrategy parentSupervisorStrategy) {
         super(actorCore, parentSupervisorStrategy);
         this.parentSupervisorStrategy = parentSupervisorStrategy;
+        this.restartHistory = RestartHistory.create(parentSupervisorStrategy.getRestartConfig());
     }
 
     public static OneForOneBackoffActorFailureHandler create(ActorCore actorCore, OneForOneBackoffSupervisorStrategy parentSupervisorStrategy) {
@@ -33,31 +37,31 @@ public class OneForOneBackoffActorFailureHandler extends ActorFailureHandler {
 
     @Override
     protected void refreshRestartHistory(ErrorData e) {
-        RestartHistory restartHistory = restartCountMap.get(e.getError().getClass().toString());
-        if (restartHistory != null) {
-            Duration durationSinceLastRestart = Duration.between(restartHistory.getLastRestartTime(), Instant.now());
-            log.info("Checking lastRestartTime {}, interval {}, for actor {}, errorActor {}", restartHistory.getLastRestartTime(),
+        Duration durationSinceLastRestart = restartHistory.sinceLastRestart(e.getError().getClass());
+        if (durationSinceLastRestart != null) {
+            log.info("Checking interval since last restart {}, for actor {}, errorActor {}",
                     durationSinceLastRestart.toMillis(), actorCore.getName(), e.getActorRef().getName());
-            if (durationSinceLastRestart.toMillis() > parentSupervisorStrategy.getRestartConfig().getResetInterval().toMillis()) {
+            if (restartHistory.resetIfIdle(e.getError().getClass(), parentSupervisorStrategy.getRestartConfig().getResetInterval())) {
                 log.info("Resetting restart count for actor {}, errorActor {}", actorCore.getName(), e.getActorRef().getName());
-                restartCountMap.put(e.getError().getClass().toString(), new RestartHistory(0, Instant.now()));
+                lastBackoffInterval = null;
             }
         }
     }
 
     @Override
     protected int lastRestartCount(ErrorData e) {
-        String error = e.getError().getClass().toString();
-        return restartCountMap.get(error) == null ? 0 : restartCountMap.get(error).getRestartCount();
+        return restartHistory.count(e.getError().getClass());
     }
 
     @Override
     protected void updateRestartHistory(ErrorData e) {
-        restartCountMap.put(e.getError().getClass().toString(), new RestartHistory(currentRestartCount(e), Instant.now()));
+        restartHistory.record(e.getError().getClass());
     }
 
     protected Duration backoffInterval(ErrorData errorData) {
-        return parentSupervisorStrategy.getRestartConfig().backoffInterval(currentRestartCount(errorData));
+        Duration interval = parentSupervisorStrategy.getRestartConfig().backoffInterval(currentRestartCount(errorData), lastBackoffInterval);
+        lastBackoffInterval = interval;
+        return interval;
     }
 
     @Override
@@ -75,38 +79,26 @@ public class OneForOneBackoffActorFailureHandler extends ActorFailureHandler {
      * This method is used to restart the actor with backoff interval.
      * It also checks if max retries are exhausted or not. If yes, then it stops the actor.
      * During backoff interval actor is paused &amp; it keeps incoming messages in queue until actor is restarted.
+     * Failures while a restart is already scheduled are coalesced into it, i.e. they don't schedule another restart.
      * @param errorData {@link ErrorData} - error data
      */
     @Override
     protected void restart(ErrorData errorData) {
         log.info("Restarting actor {} due to error in errorActor {} with exception {} ", actorCore.getName(), errorData.getActorRef().getName(), errorData.getError().toString());
         actorCore.pause();
+        if (!restartPending.compareAndSet(false, true)) {
+            log.info("Restart of actor {} is already scheduled, coalescing error in errorActor {}", actorCore.getName(), errorData.getActorRef().getName());
+            return;
+        }
         Duration waitInterval = backoffInterval(errorData);
         log.info("Waiting for {} ms before restarting actor {}, errorActor {}", waitInterval.toMillis(), actorCore.getName(), errorData.getActorRef().getName());
         Mono.delay(waitInterval)
                 .map(ignored -> {
+                    restartPending.set(false);
                     updateRestartHistory(errorData);
                     actorCore.restart(errorData);
                     return errorData;
                 })
                 .subscribe();
     }
-
-    private static class RestartHistory {
-        private final int restartCount;
-        private final Instant lastRestartTime;
-
-        public RestartHistory(int restartCount, Instant lastRestartTime) {
-            this.restartCount = restartCount;
-            this.lastRestartTime = lastRestartTime;
-        }
-
-        public int getRestartCount() {
-            return restartCount;
-        }
-
-        public Instant getLastRestartTime() {
-            return lastRestartTime;
-        }
-    }
 }
\ No newline at end of file
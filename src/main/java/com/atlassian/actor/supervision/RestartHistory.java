@@ -0,0 +1,154 @@
+package com.atlassian.actor.supervision;
+
+import com.atlassian.actor.supervision.restart.config.BackoffRestartConfig;
+import com.atlassian.actor.supervision.restart.config.RestartConfig;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Restart history of an actor, shared by the failure handlers. Restarts are counted per exception class, not per
+ * exception message, so the history doesn't grow with the number of distinct errors the actor sees.
+ * <p>
+ * With a window, only the restarts within the window count, i.e. "max N restarts within W". Their times are kept in a
+ * ring which grows with the restarts within the window, up to maxRestarts. Without a window, all restarts count until
+ * the history of the exception class is reset &amp; only their number is kept.
+ */
+public class RestartHistory {
+    // initial number of restart times kept per exception class, the ring grows up to maxRestarts when needed.
+    static final int INITIAL_CAPACITY = 16;
+    private final int capacity;
+    private final long windowNanos;
+    private final ConcurrentHashMap<Class<?>, Ring> rings = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxRestarts max number of restarts to count, the count doesn't go beyond it
+     * @param window      window in which restarts count, null to count all restarts
+     */
+    public RestartHistory(int maxRestarts, Duration window) {
+        this.capacity = Math.max(1, maxRestarts);
+        this.windowNanos = window != null ? window.toNanos() : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return history for the max retries &amp; time range of the config, which may be null
+     */
+    public static RestartHistory create(RestartConfig restartConfig) {
+        return restartConfig != null
+                ? new RestartHistory(restartConfig.getMaxRetries(), restartConfig.getWithinTimeRange())
+                : new RestartHistory(Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * @return history for the max retries of the config, which may be null
+     */
+    public static RestartHistory create(BackoffRestartConfig restartConfig) {
+        return new RestartHistory(restartConfig != null ? restartConfig.getMaxRetries() : Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * @return number of restarts due to the exception class which count at this point in time
+     */
+    public int count(Class<?> errorClass) {
+        Ring ring = rings.get(errorClass);
+        return ring != null ? ring.count(System.nanoTime()) : 0;
+    }
+
+    /**
+     * Record a restart due to the exception class now.
+     */
+    public void record(Class<?> errorClass) {
+        rings.computeIfAbsent(errorClass, key -> new Ring(capacity, windowNanos)).record(System.nanoTime());
+    }
+
+    /**
+     * Forget the restarts due to the exception class if there was none for the given duration.
+     *
+     * @return true if the history was reset
+     */
+    public boolean resetIfIdle(Class<?> errorClass, Duration idle) {
+        Ring ring = rings.get(errorClass);
+        return ring != null && ring.resetIfIdle(System.nanoTime(), idle.toNanos());
+    }
+
+    /**
+     * @return time since the last restart due to the exception class, null if there is none
+     */
+    public Duration sinceLastRestart(Class<?> errorClass) {
+        Ring ring = rings.get(errorClass);
+        return ring != null ? ring.sinceLast(System.nanoTime()) : null;
+    }
+
+    /**
+     * Restarts of one exception class. Without a window only their number is kept, with a window their times are kept
+     * newest last &amp; the oldest is overwritten once it's outside the window or the ring holds maxRestarts times.
+     */
+    private static class Ring {
+        private final int capacity;
+        private final long windowNanos;
+        private long[] times;
+        private int next;
+        private int size;
+        private int total;
+        private long last;
+
+        Ring(int capacity, long windowNanos) {
+            this.capacity = capacity;
+            this.windowNanos = windowNanos;
+            this.times = windowNanos != Long.MAX_VALUE ? new long[Math.min(capacity, INITIAL_CAPACITY)] : null;
+        }
+
+        synchronized void record(long now) {
+            last = now;
+            total = Math.min(total + 1, capacity);
+            if (times == null) {
+                return;
+            }
+            if (size == times.length && times.length < capacity && now - times[next] <= windowNanos) {
+                // the oldest restart still counts, so the ring grows instead of overwriting it.
+                grow();
+            }
+            times[next] = now;
+            next = (next + 1) % times.length;
+            size = Math.min(size + 1, times.length);
+        }
+
+        synchronized int count(long now) {
+            if (times == null) {
+                return total;
+            }
+            int count = 0;
+            // newest first, so the first restart outside the window ends the count.
+            for (int i = 1; i <= size; i++) {
+                long time = times[(next - i + times.length) % times.length];
+                if (now - time > windowNanos) {
+                    break;
+                }
+                count++;
+            }
+            return count;
+        }
+
+        synchronized boolean resetIfIdle(long now, long idleNanos) {
+            if (total > 0 && now - last > idleNanos) {
+                total = 0;
+                size = 0;
+                return true;
+            }
+            return false;
+        }
+
+        synchronized Duration sinceLast(long now) {
+            return total > 0 ? Duration.ofNanos(now - last) : null;
+        }
+
+        private void grow() {
+            // the ring is full, so next is the oldest time; it's copied oldest first.
+            long[] grown = new long[(int) Math.min((long) times.length * 2, capacity)];
+            System.arraycopy(times, next, grown, 0, times.length - next);
+            System.arraycopy(times, 0, grown, times.length - next, next);
+            next = times.length;
+            times = grown;
+        }
+    }
+}
@@ -6,7 +6,23 @@ public interface BackoffRestartConfig {
 
     Duration backoffInterval(int restartCount);
 
+    /**
+     * @param restartCount     count of the restart to be done
+     * @param previousInterval backoff interval of the previous restart, null if there is none
+     * @return backoff interval of the restart, with the jitter of the config applied
+     */
+    default Duration backoffInterval(int restartCount, Duration previousInterval) {
+        return backoffInterval(restartCount);
+    }
+
     boolean shouldRestart(int restartCount);
 
     Duration getResetInterval();
+
+    /**
+     * @return max number of restarts, restarts beyond it are not counted
+     */
+    default int getMaxRetries() {
+        return Integer.MAX_VALUE;
+    }
 }
\ No newline at end of file
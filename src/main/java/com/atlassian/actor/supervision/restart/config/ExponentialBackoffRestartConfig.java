@@ -8,19 +8,23 @@ public class ExponentialBackoffRestartConfig implements BackoffRestartConfig {
     private final Duration minBackoff;
     private final Duration maxBackoff;
     private final Duration autoResetDuration;
+    private final Jitter jitter;
 
-    public ExponentialBackoffRestartConfig(int maxRetries, Duration minBackoff, Duration maxBackoff, Duration autoResetDuration) {
+    public ExponentialBackoffRestartConfig(int maxRetries, Duration minBackoff, Duration maxBackoff, Duration autoResetDuration,
+                                           Jitter jitter) {
         this.maxRetries = maxRetries;
         this.minBackoff = minBackoff;
         this.maxBackoff = maxBackoff;
         this.autoResetDuration = autoResetDuration;
+        this.jitter = jitter;
+    }
+
+    public ExponentialBackoffRestartConfig(int maxRetries, Duration minBackoff, Duration maxBackoff, Duration autoResetDuration) {
+        this(maxRetries, minBackoff, maxBackoff, autoResetDuration, Jitter.NONE);
     }
 
     public ExponentialBackoffRestartConfig(int maxRetries, Duration minBackoff, Duration maxBackoff) {
-        this.maxRetries = maxRetries;
-        this.minBackoff = minBackoff;
-        this.maxBackoff = maxBackoff;
-        this.autoResetDuration = maxBackoff;
+        this(maxRetries, minBackoff, maxBackoff, maxBackoff, Jitter.NONE);
     }
 
     @Override
@@ -28,6 +32,11 @@ public class ExponentialBackoffRestartConfig implements BackoffRestartConfig {
         return Duration.ofMillis(Math.min(maxBackoff.toMillis(), minBackoff.toMillis() * (long) Math.pow(2, (restartCount - 1))));
     }
 
+    @Override
+    public Duration backoffInterval(int restartCount, Duration previousInterval) {
+        return jitter.apply(backoffInterval(restartCount), previousInterval, minBackoff, maxBackoff);
+    }
+
     @Override
     public boolean shouldRestart(int restartCount) {
         return restartCount <= maxRetries;
@@ -38,4 +47,13 @@ public class ExponentialBackoffRestartConfig implements BackoffRestartConfig {
         return autoResetDuration;
     }
 
+    @Override
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Jitter getJitter() {
+        return jitter;
+    }
+
 }
\ No newline at end of file
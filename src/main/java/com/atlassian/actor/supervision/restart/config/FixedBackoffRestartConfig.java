@@ -9,21 +9,24 @@ public class FixedBackoffRestartConfig implements BackoffRestartConfig {
     private final Duration maxBackoff;
     private final Duration interval;
     private final Duration autoResetDuration;
+    private final Jitter jitter;
 
-    public FixedBackoffRestartConfig(int maxRetries, Duration minBackoff, Duration maxBackoff, Duration interval, Duration autoResetDuration) {
+    public FixedBackoffRestartConfig(int maxRetries, Duration minBackoff, Duration maxBackoff, Duration interval, Duration autoResetDuration,
+                                     Jitter jitter) {
         this.maxRetries = maxRetries;
         this.minBackoff = minBackoff;
         this.maxBackoff = maxBackoff;
         this.interval = interval;
         this.autoResetDuration = autoResetDuration;
+        this.jitter = jitter;
+    }
+
+    public FixedBackoffRestartConfig(int maxRetries, Duration minBackoff, Duration maxBackoff, Duration interval, Duration autoResetDuration) {
+        this(maxRetries, minBackoff, maxBackoff, interval, autoResetDuration, Jitter.NONE);
     }
 
     public FixedBackoffRestartConfig(int maxRetries, Duration minBackoff, Duration maxBackoff, Duration interval) {
-        this.maxRetries = maxRetries;
-        this.minBackoff = minBackoff;
-        this.maxBackoff = maxBackoff;
-        this.interval = interval;
-        this.autoResetDuration = maxBackoff;
+        this(maxRetries, minBackoff, maxBackoff, interval, maxBackoff, Jitter.NONE);
     }
 
     @Override
@@ -31,6 +34,11 @@ public class FixedBackoffRestartConfig implements BackoffRestartConfig {
         return Duration.ofMillis(Math.min(maxBackoff.toMillis(), minBackoff.toMillis() + interval.toMillis() * (restartCount - 1)));
     }
 
+    @Override
+    public Duration backoffInterval(int restartCount, Duration previousInterval) {
+        return jitter.apply(backoffInterval(restartCount), previousInterval, minBackoff, maxBackoff);
+    }
+
     @Override
     public boolean shouldRestart(int restartCount) {
         return restartCount <= maxRetries;
@@ -40,4 +48,13 @@ public class FixedBackoffRestartConfig implements BackoffRestartConfig {
     public Duration getResetInterval() {
         return autoResetDuration;
     }
+
+    @Override
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Jitter getJitter() {
+        return jitter;
+    }
 }
@@ -1,15 +1,37 @@
 package com.atlassian.actor.supervision.restart.config;
 
+import java.time.Duration;
+
 public class ImmediateMaxRestartConfig implements RestartConfig {
 
     private final int maxRetries;
+    private final Duration withinTimeRange;
 
     public ImmediateMaxRestartConfig(int maxRetries) {
+        this(maxRetries, null);
+    }
+
+    /**
+     * @param maxRetries      max number of restarts
+     * @param withinTimeRange window in which restarts count towards maxRetries, null if all restarts count
+     */
+    public ImmediateMaxRestartConfig(int maxRetries, Duration withinTimeRange) {
         this.maxRetries = maxRetries;
+        this.withinTimeRange = withinTimeRange;
     }
 
     @Override
     public boolean shouldRestart(int restartCount) {
         return restartCount <= maxRetries;
     }
+
+    @Override
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    @Override
+    public Duration getWithinTimeRange() {
+        return withinTimeRange;
+    }
 }
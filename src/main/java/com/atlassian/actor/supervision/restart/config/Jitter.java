@@ -0,0 +1,40 @@
+package com.atlassian.actor.supervision.restart.config;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Jitter applied to a backoff interval, so siblings which failed together don't restart in lockstep.
+ */
+public enum Jitter {
+    /**
+     * Backoff interval as computed by the config.
+     */
+    NONE,
+    /**
+     * Random interval between 0 &amp; the computed backoff interval.
+     */
+    FULL,
+    /**
+     * Random interval between the min backoff &amp; three times the previous interval, capped at the max backoff.
+     * It grows from the previous interval instead of the restart count.
+     */
+    DECORRELATED;
+
+    Duration apply(Duration interval, Duration previous, Duration minBackoff, Duration maxBackoff) {
+        switch (this) {
+            case FULL:
+                return Duration.ofMillis(randomMillis(0, interval.toMillis()));
+            case DECORRELATED:
+                long min = minBackoff.toMillis();
+                long upper = Math.max(min, (previous != null ? previous.toMillis() : min) * 3);
+                return Duration.ofMillis(Math.min(maxBackoff.toMillis(), randomMillis(min, upper)));
+            default:
+                return interval;
+        }
+    }
+
+    private static long randomMillis(long from, long to) {
+        return to > from ? ThreadLocalRandom.current().nextLong(from, to + 1) : from;
+    }
+}
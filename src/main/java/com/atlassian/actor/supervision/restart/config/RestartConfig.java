@@ -1,6 +1,22 @@
 package com.atlassian.actor.supervision.restart.config;
 
+import java.time.Duration;
+
 public interface RestartConfig {
 
     boolean shouldRestart(int restartCount);
-}
\ No newline at end of file
+
+    /**
+     * @return max number of restarts, restarts beyond it are not counted
+     */
+    default int getMaxRetries() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return window in which restarts count towards max retries, null if all restarts count
+     */
+    default Duration getWithinTimeRange() {
+        return null;
+    }
+}
@@ -0,0 +1,93 @@
+package com.atlassian.actor.supervision.strategy;
+
+import com.atlassian.actor.model.ErrorData;
+import com.atlassian.actor.model.RestartMode;
+import com.atlassian.actor.model.SupervisorStrategyDirective;
+import com.atlassian.actor.supervision.CircuitBreaker;
+import com.atlassian.actor.supervision.restart.config.ImmediateInfiniteRestartConfig;
+import com.atlassian.actor.supervision.restart.config.ImmediateMaxRestartConfig;
+import com.atlassian.actor.supervision.restart.config.RestartConfig;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Base of the strategies which decide the directive from the error alone &amp; restart immediately. It holds the restart
+ * config, the handler, the circuit breaker &amp; the restart mode, subclasses only tell which children the directive
+ * applies to. Subclasses are looked up by their own class in
+ * {@link com.atlassian.actor.supervision.ActorFailureHandlerFactory}, this class has no handler registered.
+ *
+ * @param <S> type of the strategy, returned by the copies
+ */
+public abstract class AbstractSupervisorStrategy<S extends AbstractSupervisorStrategy<S>> implements SupervisorStrategy {
+    private final RestartConfig restartConfig;
+    private final Function<ErrorData, SupervisorStrategyDirective> handler;
+    private final CircuitBreaker circuitBreaker;
+    private final RestartMode restartMode;
+
+    protected AbstractSupervisorStrategy(Function<ErrorData, SupervisorStrategyDirective> handler) {
+        this(new ImmediateInfiniteRestartConfig(), handler, null, RestartMode.RECREATE);
+    }
+
+    protected AbstractSupervisorStrategy(int maxRetries, Function<ErrorData, SupervisorStrategyDirective> handler) {
+        this(new ImmediateMaxRestartConfig(maxRetries), handler, null, RestartMode.RECREATE);
+    }
+
+    protected AbstractSupervisorStrategy(int maxRetries, Duration withinTimeRange,
+                                         Function<ErrorData, SupervisorStrategyDirective> handler) {
+        this(new ImmediateMaxRestartConfig(maxRetries, withinTimeRange), handler, null, RestartMode.RECREATE);
+    }
+
+    protected AbstractSupervisorStrategy(RestartConfig restartConfig, Function<ErrorData, SupervisorStrategyDirective> handler,
+                                         CircuitBreaker circuitBreaker, RestartMode restartMode) {
+        this.handler = handler;
+        this.restartConfig = restartConfig;
+        this.circuitBreaker = circuitBreaker;
+        this.restartMode = restartMode;
+    }
+
+    /**
+     * @return new strategy of the same type with the given settings
+     */
+    protected abstract S copy(RestartConfig restartConfig, Function<ErrorData, SupervisorStrategyDirective> handler,
+                              CircuitBreaker circuitBreaker, RestartMode restartMode);
+
+    /**
+     * @return copy of this strategy with the circuit breaker, see {@link CircuitBreaker}
+     */
+    public S withCircuitBreaker(CircuitBreaker circuitBreaker) {
+        return copy(restartConfig, handler, circuitBreaker, restartMode);
+    }
+
+    /**
+     * @return copy of this strategy restarting the children in the given mode, see {@link RestartMode}
+     */
+    public S withRestartMode(RestartMode restartMode) {
+        return copy(restartConfig, handler, circuitBreaker, restartMode);
+    }
+
+    // Without backoff, lastRestartCount is not used.
+    @Override
+    public SupervisorStrategyDirective handle(Integer lastRestartCount, ErrorData errorData) {
+        return handle(errorData);
+    }
+
+    @Override
+    public SupervisorStrategyDirective handle(ErrorData errorData) {
+        return handler.apply(errorData);
+    }
+
+    public RestartConfig getRestartConfig() {
+        return restartConfig;
+    }
+
+    @Override
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public RestartMode getRestartMode() {
+        return restartMode;
+    }
+}
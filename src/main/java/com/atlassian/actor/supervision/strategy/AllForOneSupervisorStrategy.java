@@ -0,0 +1,45 @@
+package com.atlassian.actor.supervision.strategy;
+
+import com.atlassian.actor.model.ErrorData;
+import com.atlassian.actor.model.RestartMode;
+import com.atlassian.actor.model.SupervisorStrategyDirective;
+import com.atlassian.actor.supervision.CircuitBreaker;
+import com.atlassian.actor.supervision.restart.config.RestartConfig;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * AllForOneSupervisorStrategy applies the directive for a failed child to all its siblings, i.e. on RESTART all the
+ * children of the supervising actor are restarted &amp; on STOP all of them are stopped. It's meant for tightly coupled
+ * children, which can't be restarted one at a time without leaving the others in an inconsistent state.
+ */
+public class AllForOneSupervisorStrategy extends AbstractSupervisorStrategy<AllForOneSupervisorStrategy> {
+    public AllForOneSupervisorStrategy(Function<ErrorData, SupervisorStrategyDirective> handler) {
+        super(handler);
+    }
+
+    public AllForOneSupervisorStrategy(int maxRetries, Function<ErrorData, SupervisorStrategyDirective> handler) {
+        super(maxRetries, handler);
+    }
+
+    /**
+     * @param maxRetries      max number of restarts within the time range, then the actor is stopped
+     * @param withinTimeRange window in which restarts count towards maxRetries
+     * @param handler         function deciding the directive for an error
+     */
+    public AllForOneSupervisorStrategy(int maxRetries, Duration withinTimeRange, Function<ErrorData, SupervisorStrategyDirective> handler) {
+        super(maxRetries, withinTimeRange, handler);
+    }
+
+    private AllForOneSupervisorStrategy(RestartConfig restartConfig, Function<ErrorData, SupervisorStrategyDirective> handler,
+                                        CircuitBreaker circuitBreaker, RestartMode restartMode) {
+        super(restartConfig, handler, circuitBreaker, restartMode);
+    }
+
+    @Override
+    protected AllForOneSupervisorStrategy copy(RestartConfig restartConfig, Function<ErrorData, SupervisorStrategyDirective> handler,
+                                               CircuitBreaker circuitBreaker, RestartMode restartMode) {
+        return new AllForOneSupervisorStrategy(restartConfig, handler, circuitBreaker, restartMode);
+    }
+}
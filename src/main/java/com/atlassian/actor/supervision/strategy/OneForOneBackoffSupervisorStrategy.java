@@ -1,7 +1,9 @@
 package com.atlassian.actor.supervision.strategy;
 
 import com.atlassian.actor.model.ErrorData;
+import com.atlassian.actor.model.RestartMode;
 import com.atlassian.actor.model.SupervisorStrategyDirective;
+import com.atlassian.actor.supervision.CircuitBreaker;
 import com.atlassian.actor.supervision.restart.config.BackoffRestartConfig;
 
 import java.util.function.BiFunction;
@@ -9,10 +11,33 @@ import java.util.function.BiFunction;
 public class OneForOneBackoffSupervisorStrategy implements SupervisorStrategy {
     private final BackoffRestartConfig restartConfig;
     private final BiFunction<Integer, ErrorData, SupervisorStrategyDirective> biFunctionHandler;
+    private final CircuitBreaker circuitBreaker;
+    private final RestartMode restartMode;
 
     public OneForOneBackoffSupervisorStrategy(BackoffRestartConfig restartConfig, BiFunction<Integer, ErrorData, SupervisorStrategyDirective> handler) {
+        this(restartConfig, handler, null, RestartMode.RECREATE);
+    }
+
+    private OneForOneBackoffSupervisorStrategy(BackoffRestartConfig restartConfig, BiFunction<Integer, ErrorData, SupervisorStrategyDirective> handler,
+                                               CircuitBreaker circuitBreaker, RestartMode restartMode) {
         this.biFunctionHandler = handler;
         this.restartConfig = restartConfig;
+        this.circuitBreaker = circuitBreaker;
+        this.restartMode = restartMode;
+    }
+
+    /**
+     * @return copy of this strategy with the circuit breaker, see {@link CircuitBreaker}
+     */
+    public OneForOneBackoffSupervisorStrategy withCircuitBreaker(CircuitBreaker circuitBreaker) {
+        return new OneForOneBackoffSupervisorStrategy(restartConfig, biFunctionHandler, circuitBreaker, restartMode);
+    }
+
+    /**
+     * @return copy of this strategy restarting the children in the given mode, see {@link RestartMode}
+     */
+    public OneForOneBackoffSupervisorStrategy withRestartMode(RestartMode restartMode) {
+        return new OneForOneBackoffSupervisorStrategy(restartConfig, biFunctionHandler, circuitBreaker, restartMode);
     }
 
     @Override
@@ -30,4 +55,14 @@ public class OneForOneBackoffSupervisorStrategy implements SupervisorStrategy {
         return restartConfig;
     }
 
+    @Override
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    public RestartMode getRestartMode() {
+        return restartMode;
+    }
+
 }
\ No newline at end of file
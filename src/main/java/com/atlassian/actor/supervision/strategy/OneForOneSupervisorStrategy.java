@@ -1,39 +1,40 @@
 package com.atlassian.actor.supervision.strategy;
 
 import com.atlassian.actor.model.ErrorData;
+import com.atlassian.actor.model.RestartMode;
 import com.atlassian.actor.model.SupervisorStrategyDirective;
-import com.atlassian.actor.supervision.restart.config.ImmediateInfiniteRestartConfig;
-import com.atlassian.actor.supervision.restart.config.ImmediateMaxRestartConfig;
+import com.atlassian.actor.supervision.CircuitBreaker;
 import com.atlassian.actor.supervision.restart.config.RestartConfig;
 
+import java.time.Duration;
 import java.util.function.Function;
 
-public class OneForOneSupervisorStrategy implements SupervisorStrategy {
-    private final RestartConfig restartConfig;
-    private final Function<ErrorData, SupervisorStrategyDirective> handler;
-
+public class OneForOneSupervisorStrategy extends AbstractSupervisorStrategy<OneForOneSupervisorStrategy> {
     public OneForOneSupervisorStrategy(Function<ErrorData, SupervisorStrategyDirective> handler) {
-        this.handler = handler;
-        this.restartConfig = new ImmediateInfiniteRestartConfig();
+        super(handler);
     }
 
     public OneForOneSupervisorStrategy(int maxRetries, Function<ErrorData, SupervisorStrategyDirective> handler) {
-        this.handler = handler;
-        this.restartConfig = new ImmediateMaxRestartConfig(maxRetries);
+        super(maxRetries, handler);
     }
 
-    // For normal SupervisorStrategy (without backoff) we don't use lastRestartCount.
-    @Override
-    public SupervisorStrategyDirective handle(Integer lastRestartCount, ErrorData errorData) {
-        return handle(errorData);
+    /**
+     * @param maxRetries      max number of restarts within the time range, then the actor is stopped
+     * @param withinTimeRange window in which restarts count towards maxRetries
+     * @param handler         function deciding the directive for an error
+     */
+    public OneForOneSupervisorStrategy(int maxRetries, Duration withinTimeRange, Function<ErrorData, SupervisorStrategyDirective> handler) {
+        super(maxRetries, withinTimeRange, handler);
     }
 
-    @Override
-    public SupervisorStrategyDirective handle(ErrorData errorData) {
-        return handler.apply(errorData);
+    private OneForOneSupervisorStrategy(RestartConfig restartConfig, Function<ErrorData, SupervisorStrategyDirective> handler,
+                                        CircuitBreaker circuitBreaker, RestartMode restartMode) {
+        super(restartConfig, handler, circuitBreaker, restartMode);
     }
 
-    public RestartConfig getRestartConfig() {
-        return restartConfig;
+    @Override
+    protected OneForOneSupervisorStrategy copy(RestartConfig restartConfig, Function<ErrorData, SupervisorStrategyDirective> handler,
+                                               CircuitBreaker circuitBreaker, RestartMode restartMode) {
+        return new OneForOneSupervisorStrategy(restartConfig, handler, circuitBreaker, restartMode);
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package com.atlassian.actor.supervision.strategy;
 
 import com.atlassian.actor.model.ErrorData;
+import com.atlassian.actor.model.RestartMode;
 import com.atlassian.actor.model.SupervisorStrategyDirective;
+import com.atlassian.actor.supervision.CircuitBreaker;
 
 /**
  * SupervisorStrategy is a strategy that is used to handle failures in a reactor while processing messages.
@@ -11,4 +13,21 @@ public interface SupervisorStrategy {
     SupervisorStrategyDirective handle(Integer lastRestartCount, ErrorData data);
 
     SupervisorStrategyDirective handle(ErrorData data);
+
+    /**
+     * The breaker must be a shared instance, e.g. a field of the supervisor, not created on every call: each child
+     * records its failures in the breaker it gets when it's created.
+     *
+     * @return circuit breaker shared by the children of the supervisor, null if there is none
+     */
+    default CircuitBreaker getCircuitBreaker() {
+        return null;
+    }
+
+    /**
+     * @return how the children of the supervisor are restarted
+     */
+    default RestartMode getRestartMode() {
+        return RestartMode.RECREATE;
+    }
 }
\ No newline at end of file
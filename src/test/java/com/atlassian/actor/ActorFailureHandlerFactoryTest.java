@@ -1,11 +1,17 @@
 package com.atlassian.actor;
 
+import com.atlassian.actor.model.ErrorData;
+import com.atlassian.actor.model.SupervisorStrategyDirective;
 import com.atlassian.actor.supervision.ActorFailureHandler;
+import com.atlassian.actor.supervision.AllForOneActorFailureHandler;
 import com.atlassian.actor.supervision.ActorFailureHandlerFactory;
 import com.atlassian.actor.supervision.OneForOneActorFailureHandler;
 import com.atlassian.actor.supervision.OneForOneBackoffActorFailureHandler;
 import com.atlassian.actor.supervision.strategy.OneForOneBackoffSupervisorStrategy;
+import com.atlassian.actor.supervision.strategy.AllForOneSupervisorStrategy;
 import com.atlassian.actor.supervision.strategy.OneForOneSupervisorStrategy;
+import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -14,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,8 +31,16 @@ class ActorFailureHandlerFactoryTest {
     @Mock
     private OneForOneBackoffSupervisorStrategy oneForOneBackoffSupervisorStrategy;
     @Mock
+    private AllForOneSupervisorStrategy allForOneSupervisorStrategy;
+    @Mock
     private ActorCore actorCore;
 
+    @AfterEach
+    void cleanup() {
+        // the factory is static, so a registration would leak into the other tests.
+        ActorFailureHandlerFactory.unregister(CustomSupervisorStrategy.class);
+    }
+
     @Test
     void createOneForOneSupervisorStrategyActorFailureHandler() {
         when(actorCore.getParentSupervisorStrategy()).thenReturn(oneForOneSupervisorStrategy);
@@ -39,4 +54,37 @@ class ActorFailureHandlerFactoryTest {
         ActorFailureHandler oneForOneBackoffActorFailureHandler = ActorFailureHandlerFactory.create(actorCore);
         assertInstanceOf(OneForOneBackoffActorFailureHandler.class, oneForOneBackoffActorFailureHandler);
     }
-}
\ No newline at end of file
+
+    @Test
+    void createAllForOneSupervisorStrategyActorFailureHandler() {
+        when(actorCore.getParentSupervisorStrategy()).thenReturn(allForOneSupervisorStrategy);
+        ActorFailureHandler allForOneActorFailureHandler = ActorFailureHandlerFactory.create(actorCore);
+        assertInstanceOf(AllForOneActorFailureHandler.class, allForOneActorFailureHandler);
+    }
+
+    @Test
+    void createRegisteredSupervisorStrategyActorFailureHandler() {
+        when(actorCore.getParentSupervisorStrategy()).thenReturn(new CustomSupervisorStrategy());
+        assertThrows(IllegalArgumentException.class, () -> ActorFailureHandlerFactory.create(actorCore));
+
+        ActorFailureHandlerFactory.register(CustomSupervisorStrategy.class,
+                (core, strategy) -> OneForOneActorFailureHandler.create(core, new OneForOneSupervisorStrategy(e -> SupervisorStrategyDirective.STOP)));
+        assertInstanceOf(OneForOneActorFailureHandler.class, ActorFailureHandlerFactory.create(actorCore));
+
+        ActorFailureHandlerFactory.unregister(CustomSupervisorStrategy.class);
+        assertThrows(IllegalArgumentException.class, () -> ActorFailureHandlerFactory.create(actorCore));
+    }
+
+    private static class CustomSupervisorStrategy implements SupervisorStrategy {
+
+        @Override
+        public SupervisorStrategyDirective handle(Integer lastRestartCount, ErrorData data) {
+            return SupervisorStrategyDirective.STOP;
+        }
+
+        @Override
+        public SupervisorStrategyDirective handle(ErrorData data) {
+            return SupervisorStrategyDirective.STOP;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorSystemConfig;
+import com.atlassian.actor.config.MailboxConfig;
+import com.atlassian.actor.exceptions.ActorTerminatedException;
+import com.atlassian.actor.model.PoisonPill;
+import com.atlassian.actor.model.StreamCancelled;
+import com.atlassian.actor.model.StreamDemand;
+import com.atlassian.actor.model.TellResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActorFluxTest {
+    private static final int LIMIT = 100;
+    private final List<Long> demands = new CopyOnWriteArrayList<>();
+    private final AtomicInteger cancellations = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ActorSystem actorSystem;
+    private ActorRef actorRef;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem();
+        actorRef = actorSystem.actorOf(SourceActor::new, new ActorConfig("SourceActor"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void emitsOnlyOnDemand() {
+        Flux<Integer> flux = actorRef.asFlux();
+        List<Integer> elements = flux.limitRate(10).collectList().block(Duration.ofSeconds(5));
+
+        assertEquals(IntStream.range(0, LIMIT).boxed().collect(Collectors.toList()), elements);
+        assertTrue(demands.size() > 1);
+        assertTrue(demands.stream().allMatch(requested -> requested <= 10));
+    }
+
+    @Test
+    void notifiesActorOnCancel() {
+        Flux<Integer> flux = actorRef.asFlux();
+        List<Integer> elements = flux.take(5).collectList().block(Duration.ofSeconds(5));
+
+        assertEquals(List.of(0, 1, 2, 3, 4), elements);
+        assertEquals(1, cancellations.get());
+    }
+
+    @Test
+    void failsWhenActorIsTerminated() {
+        actorRef.tell(PoisonPill.getInstance());
+        Flux<Integer> flux = actorRef.asFlux();
+        assertThrows(ActorTerminatedException.class, () -> flux.collectList().block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void demandAndCancelReachAnActorWithAFullMailbox() throws Exception {
+        ActorSystem asyncSystem = ActorSystem.create("flux", new ActorSystemConfig(Schedulers.boundedElastic()));
+        try {
+            ActorRef busyRef = asyncSystem.actorOf(SourceActor::new,
+                    new ActorConfig("SourceActor", emptyList(), 2, MailboxConfig.defaultMailbox()));
+            busyRef.tell("block");
+            while (busyRef.tryTell("queued") == TellResult.ACCEPTED) {
+                // fill the mailbox while the actor is blocked.
+            }
+
+            CompletableFuture<List<Integer>> elements = busyRef.<Integer>asFlux().take(5).collectList().toFuture();
+            release.countDown();
+
+            assertEquals(List.of(0, 1, 2, 3, 4), elements.get(5, TimeUnit.SECONDS));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (cancellations.get() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, cancellations.get());
+        } finally {
+            release.countDown();
+            asyncSystem.terminate();
+        }
+    }
+
+    private class SourceActor extends AbstractActor {
+        private int next = 0;
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(StreamDemand.class, (demand, r) -> {
+                        demands.add(demand.getRequested());
+                        emit(demand.getEmitter());
+                    })
+                    .match(StreamCancelled.class, (m, r) -> cancellations.incrementAndGet())
+                    .matchEquals("block", (m, r) -> release.await(5, TimeUnit.SECONDS))
+                    .build();
+        }
+
+        private void emit(ActorEmitter<Integer> emitter) {
+            while (emitter.requested() > 0 && next < LIMIT && !emitter.isCancelled()) {
+                emitter.emit(next++);
+            }
+            if (next == LIMIT) {
+                emitter.complete();
+            }
+        }
+
+        @Override
+        public void postStop() {
+        }
+    }
+}
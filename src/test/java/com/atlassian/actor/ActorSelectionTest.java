@@ -0,0 +1,76 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.model.PoisonPill;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ActorSelectionTest {
+    private ActorSystem actorSystem;
+    private ActorRef parent;
+    private ActorRef child;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem("selection");
+        parent = actorSystem.actorOf(NoopActor::new, new ActorConfig("parent"));
+        child = parent.actorOf(NoopActor::new, new ActorConfig("child"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void pathIncludesAllAncestors() {
+        assertEquals("/selection/parent", parent.getPath());
+        assertEquals("/selection/parent/child", child.getPath());
+    }
+
+    @Test
+    void selectResolvesDeepPath() {
+        assertEquals(child, actorSystem.select("/selection/parent/child"));
+        assertEquals(child, actorSystem.select(child.getPath()));
+        assertEquals(parent, actorSystem.select("/selection/parent"));
+    }
+
+    @Test
+    void selectReturnsNullForUnknownPath() {
+        assertNull(actorSystem.select("/selection/parent/unknown"));
+        assertNull(actorSystem.select("/other/parent"));
+        assertNull(actorSystem.select("parent/child"));
+    }
+
+    @Test
+    void cachedSelectionIsInvalidatedOnTermination() {
+        assertEquals(child, actorSystem.select("/selection/parent/child"));
+        child.tell(PoisonPill.getInstance());
+        assertNull(actorSystem.select("/selection/parent/child"));
+
+        ActorRef recreated = parent.actorOf(NoopActor::new, new ActorConfig("child"));
+        assertEquals(recreated, actorSystem.select("/selection/parent/child"));
+    }
+
+    private static class NoopActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create().build();
+        }
+    }
+}
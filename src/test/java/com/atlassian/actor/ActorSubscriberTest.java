@@ -0,0 +1,99 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorSystemConfig;
+import com.atlassian.actor.model.StreamCompleted;
+import com.atlassian.actor.model.StreamFailed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActorSubscriberTest {
+    private static final int WINDOW = 16;
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final List<Object> processed = new CopyOnWriteArrayList<>();
+    private final AtomicLong requested = new AtomicLong();
+    private ActorSystem actorSystem;
+    private ActorRef actorRef;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.create("SubscriberSystem", new ActorSystemConfig(Schedulers.boundedElastic()));
+        actorRef = actorSystem.actorOf(StreamActor::new, new ActorConfig("StreamActor"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        gate.countDown();
+        actorSystem.terminate();
+    }
+
+    @Test
+    void requestsOnlyWindowWhileActorIsBusy() throws InterruptedException {
+        Flux.range(0, 1000)
+                .doOnRequest(requested::addAndGet)
+                .subscribe(actorRef.asSubscriber(WINDOW));
+
+        Thread.sleep(100);
+        assertEquals(WINDOW, requested.get());
+
+        gate.countDown();
+        assertTrue(terminated.await(5, TimeUnit.SECONDS));
+        assertEquals(1001, processed.size());
+        assertEquals(999, processed.get(999));
+        assertEquals(StreamCompleted.getInstance(), processed.get(1000));
+    }
+
+    @Test
+    void deliversStreamError() throws InterruptedException {
+        gate.countDown();
+        Flux.<Object>error(new IllegalStateException("boom"))
+                .subscribe(actorRef.asSubscriber(WINDOW));
+
+        assertTrue(terminated.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(StreamFailed.class, processed.get(0));
+    }
+
+    @Test
+    void windowMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> actorRef.asSubscriber(0));
+    }
+
+    private class StreamActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .matchAny((m, r) -> {
+                        gate.await();
+                        processed.add(m);
+                        if (m instanceof StreamCompleted || m instanceof StreamFailed) {
+                            terminated.countDown();
+                        }
+                    })
+                    .build();
+        }
+
+        @Override
+        public void postStop() {
+        }
+    }
+}
@@ -50,7 +50,7 @@ class ActorSystemTest {
         when(actorSystemConfig.getSupervisorStrategy()).thenReturn(supervisorStrategy);
         mockInternalActorSystem = mockStatic(InternalActorSystem.class);
         mockInternalActorSystem
-                .when(() -> InternalActorSystem.create(any(), any(), any(), any()))
+                .when(() -> InternalActorSystem.create(any(), any(), any(), any(), any()))
                 .thenReturn(internalActorSystem);
         actorSystem = ActorSystem.create("test", actorSystemConfig);
         lenient().when(internalActorSystem.getStatus()).thenReturn(ActorSystemStatus.CREATED);
@@ -80,6 +80,14 @@ class ActorSystemTest {
         verify(internalActorSystem, times(1)).createActor(actorSupplier, actorConfig);
     }
 
+    @Test
+    void getOrCreateChild() {
+        when(internalActorSystem.getOrCreateChild("entity-1", actorSupplier, actorConfig))
+                .thenReturn(actorRef);
+        assertEquals(actorRef, actorSystem.getOrCreateChild("entity-1", actorSupplier, actorConfig));
+        verify(internalActorSystem, times(1)).getOrCreateChild("entity-1", actorSupplier, actorConfig);
+    }
+
     @Test
     void terminateWhenAlreadyTerminating() {
         when(internalActorSystem.getStatus()).thenReturn(ActorSystemStatus.TERMINATING);
@@ -0,0 +1,123 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.model.SupervisorStrategyDirective;
+import com.atlassian.actor.supervision.strategy.AllForOneSupervisorStrategy;
+import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AllForOneSupervisorStrategyTest {
+    private final Map<String, AtomicInteger> starts = new ConcurrentHashMap<>();
+    private ActorSystem actorSystem;
+    private ActorRef parent;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void failureOfOneChildRestartsAllChildren() {
+        createParent(SupervisorStrategyDirective.RESTART);
+        ActorRef first = parent.actorOf(ChildActor::new, new ActorConfig("first"));
+        ActorRef second = parent.actorOf(ChildActor::new, new ActorConfig("second"));
+
+        first.tell("fail");
+
+        assertEquals(2, starts.get("first").get());
+        assertEquals(2, starts.get("second").get());
+        assertTrue(first.isRunning());
+        assertTrue(second.isRunning());
+    }
+
+    @Test
+    void maxRetriesBoundTheRestartsOfTheGroup() {
+        createParent(SupervisorStrategyDirective.RESTART);
+        ActorRef first = parent.actorOf(ChildActor::new, new ActorConfig("first"));
+        ActorRef second = parent.actorOf(ChildActor::new, new ActorConfig("second"));
+
+        first.tell("fail");
+        second.tell("fail");
+        first.tell("fail");
+        assertEquals(4, starts.get("first").get());
+        assertEquals(4, starts.get("second").get());
+
+        // a fourth restart of the group exceeds maxRetries, whichever child fails.
+        second.tell("fail");
+        assertTrue(first.isTerminated());
+        assertTrue(second.isTerminated());
+    }
+
+    @Test
+    void failureOfOneChildStopsAllChildren() {
+        createParent(SupervisorStrategyDirective.STOP);
+        ActorRef first = parent.actorOf(ChildActor::new, new ActorConfig("first"));
+        ActorRef second = parent.actorOf(ChildActor::new, new ActorConfig("second"));
+
+        first.tell("fail");
+
+        assertTrue(first.isTerminated());
+        assertTrue(second.isTerminated());
+        assertTrue(parent.isRunning());
+    }
+
+    private void createParent(SupervisorStrategyDirective directive) {
+        SupervisorStrategy strategy = new AllForOneSupervisorStrategy(3, e -> directive);
+        parent = actorSystem.actorOf(() -> new AbstractActor() {
+            @Override
+            public void preStart() {
+            }
+
+            @Override
+            public void postStop() {
+            }
+
+            @Override
+            public Receive createReceive() {
+                return ReceiveBuilder.create().build();
+            }
+
+            @Override
+            public SupervisorStrategy supervisorStrategy() {
+                return strategy;
+            }
+        }, new ActorConfig("parent"));
+    }
+
+    private class ChildActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+            starts.computeIfAbsent(self().getName(), name -> new AtomicInteger()).incrementAndGet();
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(String.class, (m, r) -> {
+                        throw new IllegalStateException(m);
+                    })
+                    .build();
+        }
+    }
+}
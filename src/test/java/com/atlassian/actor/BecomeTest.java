@@ -0,0 +1,119 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BecomeTest {
+    private final List<String> processed = new ArrayList<>();
+    private ActorSystem actorSystem;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void becomeReplacesBehaviour() {
+        ActorRef actorRef = actorSystem.actorOf(ProtocolActor::new, new ActorConfig("ProtocolActor"));
+
+        actorRef.tell("data");
+        actorRef.tell("connect");
+        actorRef.tell("data");
+        actorRef.tell("connect");
+
+        assertEquals(Arrays.asList("connecting:data", "connected", "connected:data", "connected:connect"), processed);
+    }
+
+    @Test
+    void unbecomeRevertsToKeptBehaviour() {
+        ActorRef actorRef = actorSystem.actorOf(ProtocolActor::new, new ActorConfig("ProtocolActor"));
+
+        actorRef.tell("connect");
+        actorRef.tell("drain");
+        actorRef.tell("data");
+        actorRef.tell("drained");
+        actorRef.tell("data");
+
+        assertEquals(Arrays.asList("connected", "draining", "draining:data", "drained", "connected:data"), processed);
+    }
+
+    @Test
+    void unbecomeWithoutKeptBehaviourKeepsCurrentBehaviour() {
+        ActorRef actorRef = actorSystem.actorOf(ProtocolActor::new, new ActorConfig("ProtocolActor"));
+
+        actorRef.tell("connect");
+        actorRef.tell("disconnect");
+        actorRef.tell("data");
+
+        assertEquals(Arrays.asList("connected", "connected:disconnect", "connected:data"), processed);
+    }
+
+    private class ProtocolActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(String.class, (message, responder) -> {
+                        if ("connect".equals(message)) {
+                            processed.add("connected");
+                            become(connected());
+                        } else {
+                            processed.add("connecting:" + message);
+                        }
+                    })
+                    .build();
+        }
+
+        private Receive connected() {
+            return ReceiveBuilder.create()
+                    .match(String.class, (message, responder) -> {
+                        if ("drain".equals(message)) {
+                            processed.add("draining");
+                            become(draining(), false);
+                        } else if ("disconnect".equals(message)) {
+                            processed.add("connected:" + message);
+                            unbecome();
+                        } else {
+                            processed.add("connected:" + message);
+                        }
+                    })
+                    .build();
+        }
+
+        private Receive draining() {
+            return ReceiveBuilder.create()
+                    .match(String.class, (message, responder) -> {
+                        if ("drained".equals(message)) {
+                            processed.add("drained");
+                            unbecome();
+                        } else {
+                            processed.add("draining:" + message);
+                        }
+                    })
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorSystemConfig;
+import com.atlassian.actor.exceptions.CircuitBreakerOpenException;
+import com.atlassian.actor.model.DeadLetter;
+import com.atlassian.actor.model.PoisonPill;
+import com.atlassian.actor.model.SupervisorStrategyDirective;
+import com.atlassian.actor.model.Terminated;
+import com.atlassian.actor.supervision.CircuitBreaker;
+import com.atlassian.actor.supervision.strategy.OneForOneSupervisorStrategy;
+import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+    private static final Duration OPEN_DURATION = Duration.ofMillis(100);
+    private final AtomicInteger starts = new AtomicInteger();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger terminations = new AtomicInteger();
+    private ActorSystem actorSystem;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void opensOnFailureRateOfWindow() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 4, 0.5, Duration.ofSeconds(1), OPEN_DURATION);
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        assertTrue(circuitBreaker.isClosed());
+
+        circuitBreaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void windowNeverHoldsMoreThanWindowSizeCalls() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 17, 0.5, Duration.ofSeconds(1), OPEN_DURATION);
+        for (int i = 0; i < 17; i++) {
+            circuitBreaker.recordSuccess();
+        }
+        for (int i = 0; i < 8; i++) {
+            circuitBreaker.recordFailure();
+        }
+        assertTrue(circuitBreaker.isClosed());
+
+        // 9 failures out of the last 17 calls, the successes before them are out of the window.
+        circuitBreaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void slowCompletionIsRecordedAsFailure() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 1, 1.0, Duration.ofMillis(10), OPEN_DURATION);
+        circuitBreaker.recordCompletion(System.nanoTime());
+        assertTrue(circuitBreaker.isClosed());
+
+        circuitBreaker.recordCompletion(System.nanoTime() - Duration.ofSeconds(1).toNanos());
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void halfOpenTrialClosesOrReopens() throws Exception {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 1, 1.0, Duration.ofSeconds(1), OPEN_DURATION);
+        circuitBreaker.recordFailure();
+        Thread.sleep(OPEN_DURATION.toMillis() * 2);
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        // only one trial call at a time.
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        Thread.sleep(OPEN_DURATION.toMillis() * 2);
+        assertEquals("ok", circuitBreaker.call(() -> "ok"));
+        assertTrue(circuitBreaker.isClosed());
+    }
+
+    @Test
+    void callFailsFastWhileOpen() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 2, 1.0, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class, () -> circuitBreaker.call(() -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("down");
+            }));
+        }
+
+        assertThrows(CircuitBreakerOpenException.class, () -> circuitBreaker.call(calls::incrementAndGet));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void openBreakerOfSupervisorFailsFastInsteadOfRestarting() throws Exception {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("downstream", 2, 1.0, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        ActorRef parent = createParent(new OneForOneSupervisorStrategy(e -> SupervisorStrategyDirective.RESTART)
+                .withCircuitBreaker(circuitBreaker));
+        ActorRef child = parent.actorOf(ChildActor::new, new ActorConfig("child"));
+
+        child.tell("fail");
+        assertEquals(2, starts.get());
+        child.tell("fail");
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        // the failure which opened the breaker resumes the actor.
+        assertEquals(2, starts.get());
+        assertThrows(CircuitBreakerOpenException.class, () -> child.ask("ping", 1000));
+        assertEquals(2, calls.get());
+        assertTrue(child.isRunning());
+    }
+
+    @Test
+    void rejectedTellsAreDeadLettersButWatchMessagesAreProcessed() {
+        List<DeadLetter> deadLetters = new CopyOnWriteArrayList<>();
+        actorSystem.terminate();
+        actorSystem = ActorSystem.create("breaker", new ActorSystemConfig(Schedulers.immediate(), null,
+                new OneForOneSupervisorStrategy(e -> SupervisorStrategyDirective.RESTART),
+                new DefaultUnhandledMessageHandler(null, Duration.ofMinutes(1), deadLetters::add)));
+        CircuitBreaker circuitBreaker = new CircuitBreaker("downstream", 1, 1.0, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        ActorRef parent = createParent(new OneForOneSupervisorStrategy(e -> SupervisorStrategyDirective.RESTART)
+                .withCircuitBreaker(circuitBreaker));
+        ActorRef child = parent.actorOf(ChildActor::new, new ActorConfig("child"));
+        ActorRef watched = actorSystem.actorOf(ChildActor::new, new ActorConfig("watched"));
+        child.watch(watched);
+
+        child.tell("fail");
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        child.tell("rejected");
+        watched.tell(PoisonPill.getInstance());
+
+        assertEquals(1, deadLetters.size());
+        assertEquals("rejected", deadLetters.get(0).getMessage());
+        assertEquals(child, deadLetters.get(0).getRecipient());
+        assertEquals(1, terminations.get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void childrenShareTheBreakerOfTheirSupervisor() throws Exception {
+        AtomicInteger resolved = new AtomicInteger();
+        // a new strategy & breaker on every call, the strategy must still be resolved once for all the children.
+        ActorRef parent = createParent(() -> {
+            resolved.incrementAndGet();
+            return new OneForOneSupervisorStrategy(e -> SupervisorStrategyDirective.RESTART)
+                    .withCircuitBreaker(new CircuitBreaker("downstream", 2, 1.0, Duration.ofSeconds(1), Duration.ofMinutes(1)));
+        });
+        ActorRef first = parent.actorOf(ChildActor::new, new ActorConfig("first"));
+        ActorRef second = parent.actorOf(ChildActor::new, new ActorConfig("second"));
+
+        first.tell("fail");
+        second.tell("fail");
+
+        assertEquals(1, resolved.get());
+        assertThrows(CircuitBreakerOpenException.class, () -> first.ask("ping", 1000));
+        assertEquals(2, calls.get());
+    }
+
+    private ActorRef createParent(SupervisorStrategy strategy) {
+        return createParent(() -> strategy);
+    }
+
+    private ActorRef createParent(Supplier<SupervisorStrategy> strategy) {
+        return actorSystem.actorOf(() -> new AbstractActor() {
+            @Override
+            public void preStart() {
+            }
+
+            @Override
+            public void postStop() {
+            }
+
+            @Override
+            public Receive createReceive() {
+                return ReceiveBuilder.create().build();
+            }
+
+            @Override
+            public SupervisorStrategy supervisorStrategy() {
+                return strategy.get();
+            }
+        }, new ActorConfig("parent"));
+    }
+
+    private class ChildActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+            starts.incrementAndGet();
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(Terminated.class, (m, r) -> terminations.incrementAndGet())
+                    .match(String.class, (m, r) -> {
+                        calls.incrementAndGet();
+                        throw new IllegalStateException(m);
+                    })
+                    .build();
+        }
+    }
+}
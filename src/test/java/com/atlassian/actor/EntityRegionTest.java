@@ -0,0 +1,309 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorSystemConfig;
+import com.atlassian.actor.config.MailboxConfig;
+import com.atlassian.actor.exceptions.QueueOverflowException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityRegionTest {
+    private static final int ENTITIES = 200;
+    private ActorSystem actorSystem;
+    private EntityRegion region;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem();
+        region = EntityRegion.create("counters", actorSystem, 4, CounterActor::new, new ActorConfig("counter"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void routesMessagesByEntityId() throws Exception {
+        for (int i = 0; i < ENTITIES; i++) {
+            region.tell("entity-" + i, "inc");
+            region.tell("entity-" + i, "inc");
+        }
+        for (int i = 0; i < ENTITIES; i++) {
+            assertEquals(2, region.ask("entity-" + i, "count", 1000));
+        }
+        assertEquals(region.entityRef("entity-1"), region.entityRef("entity-1"));
+    }
+
+    @Test
+    void spreadsEntitiesOverShards() {
+        Set<Integer> shards = new HashSet<>();
+        for (int i = 0; i < ENTITIES; i++) {
+            int shard = EntityRegion.shardIndex("entity-" + i, 4);
+            assertTrue(shard >= 0 && shard < 4);
+            shards.add(shard);
+        }
+        assertEquals(4, shards.size());
+    }
+
+    @Test
+    void rebalanceOnlyMovesEntitiesChangingShard() throws Exception {
+        for (int i = 0; i < ENTITIES; i++) {
+            region.tell("entity-" + i, "inc");
+        }
+        region.rebalance(8);
+        assertEquals(8, region.getShardCount());
+
+        int moved = 0;
+        for (int i = 0; i < ENTITIES; i++) {
+            String entityId = "entity-" + i;
+            boolean stayed = EntityRegion.shardIndex(entityId, 4) == EntityRegion.shardIndex(entityId, 8);
+            assertEquals(stayed ? 1 : 0, region.ask(entityId, "count", 1000));
+            if (!stayed) {
+                moved++;
+            }
+        }
+        // jump consistent hash moves about half of the entities when doubling the shards.
+        assertTrue(moved > 0 && moved < ENTITIES * 3 / 4);
+    }
+
+    @Test
+    void handsOffEntitiesWhileTellsRaceRebalance() throws Exception {
+        ActorSystem system = ActorSystem.create("RegionSystem", new ActorSystemConfig(Schedulers.boundedElastic()));
+        Map<String, Integer> lastSequence = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> incarnations = new ConcurrentHashMap<>();
+        Queue<String> violations = new ConcurrentLinkedQueue<>();
+        int senders = 4;
+        int entitiesPerSender = 25;
+        int messages = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(senders);
+        try {
+            EntityRegion sequences = EntityRegion.create("sequences", system, 2,
+                    () -> new SequenceActor(lastSequence, incarnations, violations), new ActorConfig("sequence"));
+            List<Future<?>> futures = new ArrayList<>();
+            for (int sender = 0; sender < senders; sender++) {
+                String prefix = "entity-" + sender + "-";
+                futures.add(executor.submit(() -> {
+                    for (int sequence = 0; sequence < messages; sequence++) {
+                        for (int entity = 0; entity < entitiesPerSender; entity++) {
+                            sequences.tell(prefix + entity, new Sequence(prefix + entity, sequence));
+                        }
+                    }
+                }));
+            }
+            // shrinking then growing again reuses shard indexes whose previous shard may still be terminating.
+            for (int shardCount : new int[]{5, 3, 8, 1, 6, 2, 4}) {
+                sequences.rebalance(shardCount);
+                Thread.sleep(2);
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (countCompleted(lastSequence, messages - 1) < senders * entitiesPerSender
+                    && System.currentTimeMillis() < deadline && violations.isEmpty()) {
+                Thread.sleep(10);
+            }
+            assertTrue(violations.isEmpty(), "handoff violations: " + violations);
+            assertEquals(senders * entitiesPerSender, countCompleted(lastSequence, messages - 1));
+        } finally {
+            executor.shutdownNow();
+            system.terminate();
+        }
+    }
+
+    @Test
+    void handoffFailsTheAsksTheNewIncarnationDoesNotAccept() throws Exception {
+        ActorSystem system = ActorSystem.create("RegionSystem", new ActorSystemConfig(Schedulers.boundedElastic()));
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch releaseOld = new CountDownLatch(1);
+        CountDownLatch releaseNew = new CountDownLatch(1);
+        AtomicInteger starts = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            EntityRegion gated = EntityRegion.create("gated", system, 1,
+                    () -> new GatedCounterActor(starts, blocked, releaseOld, releaseNew),
+                    new ActorConfig("gated", emptyList(), 1, MailboxConfig.defaultMailbox()));
+            String entityId = IntStream.range(0, ENTITIES).mapToObj(i -> "entity-" + i)
+                    .filter(id -> EntityRegion.shardIndex(id, 2) == 1)
+                    .findFirst()
+                    .orElseThrow();
+            gated.tell(entityId, "block");
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            gated.rebalance(2);
+            gated.tell(entityId, "inc");
+            gated.tell(entityId, "inc");
+            Future<Object> count = executor.submit(() -> gated.ask(entityId, "count", 60_000));
+            Thread.sleep(100);
+
+            // the new incarnation is stuck in preStart, so only the first buffered message fits in its mailbox.
+            releaseOld.countDown();
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> count.get(5, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof QueueOverflowException, "unexpected failure: " + failure.getCause());
+
+            releaseNew.countDown();
+            assertEquals(1, gated.ask(entityId, "count", 5_000));
+        } finally {
+            releaseOld.countDown();
+            releaseNew.countDown();
+            executor.shutdownNow();
+            system.terminate();
+        }
+    }
+
+    private static long countCompleted(Map<String, Integer> lastSequence, int last) {
+        return lastSequence.values().stream().filter(sequence -> sequence == last).count();
+    }
+
+    private static class Sequence {
+        private final String entityId;
+        private final int value;
+
+        Sequence(String entityId, int value) {
+            this.entityId = entityId;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Checks across incarnations that an entity gets every message once, in order, &amp; never runs twice at once.
+     */
+    private static class SequenceActor extends AbstractActor {
+        private final Map<String, Integer> lastSequence;
+        private final Map<String, AtomicInteger> incarnations;
+        private final Queue<String> violations;
+        private String entityId;
+
+        SequenceActor(Map<String, Integer> lastSequence, Map<String, AtomicInteger> incarnations, Queue<String> violations) {
+            this.lastSequence = lastSequence;
+            this.incarnations = incarnations;
+            this.violations = violations;
+        }
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public void postStop() {
+            if (entityId != null) {
+                incarnations.get(entityId).decrementAndGet();
+            }
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(Sequence.class, (sequence, responder) -> {
+                        if (entityId == null) {
+                            entityId = sequence.entityId;
+                            if (incarnations.computeIfAbsent(entityId, id -> new AtomicInteger()).incrementAndGet() > 1) {
+                                violations.add(entityId + " runs twice");
+                            }
+                        }
+                        int expected = lastSequence.getOrDefault(entityId, -1) + 1;
+                        if (sequence.value != expected) {
+                            violations.add(entityId + " got " + sequence.value + " instead of " + expected);
+                        }
+                        lastSequence.put(entityId, sequence.value);
+                    })
+                    .build();
+        }
+    }
+
+    /**
+     * Counter whose first incarnation blocks on "block" &amp; whose next incarnations block in preStart.
+     */
+    private static class GatedCounterActor extends CounterActor {
+        private final AtomicInteger starts;
+        private final CountDownLatch blocked;
+        private final CountDownLatch releaseOld;
+        private final CountDownLatch releaseNew;
+
+        GatedCounterActor(AtomicInteger starts, CountDownLatch blocked, CountDownLatch releaseOld, CountDownLatch releaseNew) {
+            this.starts = starts;
+            this.blocked = blocked;
+            this.releaseOld = releaseOld;
+            this.releaseNew = releaseNew;
+        }
+
+        @Override
+        public void preStart() {
+            if (starts.incrementAndGet() > 1) {
+                await(releaseNew);
+            }
+        }
+
+        @Override
+        public Receive createReceive() {
+            Receive counter = super.createReceive();
+            return ReceiveBuilder.create()
+                    .matchEquals("block", (message, responder) -> {
+                        blocked.countDown();
+                        await(releaseOld);
+                    })
+                    .matchAny(counter::process)
+                    .build();
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                latch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class CounterActor extends AbstractActor {
+        private int count = 0;
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(String.class, (message, responder) -> {
+                        if ("inc".equals(message)) {
+                            count++;
+                        } else if (responder != null) {
+                            responder.setObject(count);
+                        }
+                    })
+                    .build();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.atlassian.actor;
 
 import com.atlassian.actor.supervision.restart.config.BackoffRestartConfig;
 import com.atlassian.actor.supervision.restart.config.ExponentialBackoffRestartConfig;
+import com.atlassian.actor.supervision.restart.config.Jitter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,4 +41,32 @@ class ExponentialBackoffRestartConfigTest {
         assertEquals(400, restartConfig.backoffInterval(3).toMillis());
         assertEquals(500, restartConfig.backoffInterval(4).toMillis());
     }
+
+    @Test
+    void waitIntervalWithoutJitter() {
+        assertEquals(200, restartConfig.backoffInterval(2, Duration.ofMillis(100)).toMillis());
+    }
+
+    @Test
+    void waitIntervalWithFullJitter() {
+        BackoffRestartConfig jitteredConfig = new ExponentialBackoffRestartConfig(4, Duration.ofMillis(100),
+                Duration.ofMillis(500), Duration.ofMillis(500), Jitter.FULL);
+        for (int i = 0; i < 100; i++) {
+            long interval = jitteredConfig.backoffInterval(3, null).toMillis();
+            assertTrue(interval >= 0 && interval <= 400);
+        }
+    }
+
+    @Test
+    void waitIntervalWithDecorrelatedJitter() {
+        BackoffRestartConfig jitteredConfig = new ExponentialBackoffRestartConfig(4, Duration.ofMillis(100),
+                Duration.ofMillis(500), Duration.ofMillis(500), Jitter.DECORRELATED);
+        Duration previous = null;
+        for (int i = 0; i < 100; i++) {
+            Duration interval = jitteredConfig.backoffInterval(1, previous);
+            long upper = previous != null ? Math.min(500, previous.toMillis() * 3) : 300;
+            assertTrue(interval.toMillis() >= 100 && interval.toMillis() <= upper);
+            previous = interval;
+        }
+    }
 }
\ No newline at end of file
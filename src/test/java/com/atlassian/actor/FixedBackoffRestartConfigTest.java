@@ -2,6 +2,7 @@ package com.atlassian.actor;
 
 import com.atlassian.actor.supervision.restart.config.BackoffRestartConfig;
 import com.atlassian.actor.supervision.restart.config.FixedBackoffRestartConfig;
+import com.atlassian.actor.supervision.restart.config.Jitter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,4 +44,14 @@ class FixedBackoffRestartConfigTest {
         assertEquals(500, restartConfig.backoffInterval(5).toMillis());
         assertEquals(500, restartConfig.backoffInterval(6).toMillis());
     }
+
+    @Test
+    void waitIntervalWithFullJitter() {
+        BackoffRestartConfig jitteredConfig = new FixedBackoffRestartConfig(6, Duration.ofMillis(100),
+                Duration.ofMillis(500), Duration.ofMillis(100), Duration.ofMillis(500), Jitter.FULL);
+        for (int i = 0; i < 100; i++) {
+            long interval = jitteredConfig.backoffInterval(2, null).toMillis();
+            assertTrue(interval >= 0 && interval <= 200);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.mailbox.GatedMailbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GatedMailboxTest {
+    private static final String RESTART = "restart";
+    private static final String DEMAND = "demand";
+    private boolean open = true;
+    private GatedMailbox mailbox;
+
+    @BeforeEach
+    void setUp() {
+        mailbox = new GatedMailbox(new ArrayBlockingQueue<>(3), RESTART::equals, DEMAND::equals, () -> open);
+    }
+
+    @Test
+    void controlMessagesGoFirst() {
+        mailbox.offer("a");
+        mailbox.offer(RESTART);
+        mailbox.offer("b");
+
+        assertEquals(RESTART, mailbox.peek());
+        assertEquals(List.of(RESTART, "a", "b"), drain());
+        assertTrue(mailbox.isEmpty());
+    }
+
+    @Test
+    void closedGateOnlyLetsControlMessagesThrough() {
+        mailbox.offer("a");
+        open = false;
+        mailbox.offer("b");
+        mailbox.offer(RESTART);
+
+        assertEquals(RESTART, mailbox.poll());
+        assertNull(mailbox.poll());
+        assertNull(mailbox.peek());
+        assertTrue(mailbox.isEmpty());
+        assertEquals(2, mailbox.size());
+
+        open = true;
+        assertFalse(mailbox.isEmpty());
+        assertEquals(List.of("a", "b"), drain());
+    }
+
+    @Test
+    void signalsGoAheadOfUserMessagesBehindTheGate() {
+        mailbox.offer("a");
+        mailbox.offer(DEMAND);
+        open = false;
+
+        assertNull(mailbox.poll());
+        open = true;
+        assertEquals(List.of(DEMAND, "a"), drain());
+    }
+
+    @Test
+    void onlyUserMessagesAreBounded() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(mailbox.offer(i));
+        }
+        assertFalse(mailbox.offer(3));
+        assertTrue(mailbox.offer(RESTART));
+        assertTrue(mailbox.offer(DEMAND));
+        assertEquals(5, mailbox.size());
+
+        mailbox.clear();
+        assertEquals(0, mailbox.size());
+    }
+
+    private List<Object> drain() {
+        List<Object> drained = new ArrayList<>();
+        Object message;
+        while ((message = mailbox.poll()) != null) {
+            drained.add(message);
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,143 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.exceptions.ActorTerminatingException;
+import com.atlassian.actor.model.PoisonPill;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GetOrCreateChildTest {
+    private static final int THREADS = 8;
+    private static final int ENTITIES = 100;
+    private final AtomicInteger created = new AtomicInteger();
+    private ActorSystem actorSystem;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdownNow();
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void concurrentCallsCreateEachEntityOnce() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<ActorRef>>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<ActorRef> refs = new ArrayList<>();
+                for (int entity = 0; entity < ENTITIES; entity++) {
+                    refs.add(actorSystem.getOrCreateChild("entity-" + entity, EntityActor::new, new ActorConfig("entity")));
+                }
+                return refs;
+            }));
+        }
+        start.countDown();
+
+        Set<ActorRef> distinctRefs = new HashSet<>();
+        for (Future<List<ActorRef>> future : futures) {
+            distinctRefs.addAll(future.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(ENTITIES, distinctRefs.size());
+        assertEquals(ENTITIES, created.get());
+    }
+
+    @Test
+    void childIsCreatedOnceUnderActor() {
+        ActorRef parent = actorSystem.actorOf(EntityActor::new, new ActorConfig("parent"));
+        ActorRef child = parent.getOrCreateChild("child", EntityActor::new, new ActorConfig("ignored"));
+
+        assertEquals(child, parent.getOrCreateChild("child", EntityActor::new, new ActorConfig("ignored")));
+        assertEquals(child, parent.getChildByName("child"));
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    void terminatingChildIsNotReturned() throws Exception {
+        CountDownLatch stopping = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ActorRef child = actorSystem.getOrCreateChild("stopping", () -> new StoppingActor(stopping, release),
+                new ActorConfig("ignored"));
+        Future<?> stop = executor.submit(() -> child.tell(PoisonPill.getInstance()));
+        assertTrue(stopping.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ActorTerminatingException.class,
+                () -> actorSystem.getOrCreateChild("stopping", EntityActor::new, new ActorConfig("ignored")));
+
+        release.countDown();
+        stop.get(5, TimeUnit.SECONDS);
+        ActorRef recreated = actorSystem.getOrCreateChild("stopping", EntityActor::new, new ActorConfig("ignored"));
+        assertNotEquals(child, recreated);
+    }
+
+    private class EntityActor extends AbstractActor {
+
+        EntityActor() {
+            created.incrementAndGet();
+        }
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create().build();
+        }
+    }
+
+    private static class StoppingActor extends AbstractActor {
+        private final CountDownLatch stopping;
+        private final CountDownLatch release;
+
+        StoppingActor(CountDownLatch stopping, CountDownLatch release) {
+            this.stopping = stopping;
+            this.release = release;
+        }
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public void postStop() throws InterruptedException {
+            stopping.countDown();
+            release.await();
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create().build();
+        }
+    }
+}
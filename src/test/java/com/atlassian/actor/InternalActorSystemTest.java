@@ -100,6 +100,25 @@ class InternalActorSystemTest {
         assertThrows(ActorNameExistsException.class, () -> internalActorSystem.createActor(actorSupplier, actorConfig));
     }
 
+    @Test
+    void getOrCreateChildCreatesOnce() {
+        when(internalActor.getName()).thenReturn("entity-1");
+        when(internalActor.getActorRef()).thenReturn(actorRef);
+        ActorRef created = internalActorSystem.getOrCreateChild("entity-1", actorSupplier, actorConfig);
+        ActorRef existing = internalActorSystem.getOrCreateChild("entity-1", actorSupplier, actorConfig);
+        assertEquals(actorRef, created);
+        assertEquals(actorRef, existing);
+        mockInternalActor.verify(() -> InternalActor.create(any(), any()), times(1));
+    }
+
+    @Test
+    void getOrCreateChildWhenAlreadyExists() {
+        when(internalActor.getActorRef()).thenReturn(actorRef);
+        internalActorSystem.actors.put("entity-1", new ActorCell(internalActor, false));
+        assertEquals(actorRef, internalActorSystem.getOrCreateChild("entity-1", actorSupplier, actorConfig));
+        mockInternalActor.verify(() -> InternalActor.create(any(), any()), times(0));
+    }
+
     @Test
     void getActorFailureHandler() {
         ActorFailureHandler failureHandler = internalActorSystem.getActorFailureHandler();
@@ -2,6 +2,7 @@ package com.atlassian.actor;
 
 import com.atlassian.actor.config.ActorConfig;
 import com.atlassian.actor.config.ActorCreationConfig;
+import com.atlassian.actor.config.MailboxConfig;
 import com.atlassian.actor.model.ActorCell;
 import com.atlassian.actor.model.ActorStatus;
 import com.atlassian.actor.model.ErrorData;
@@ -258,6 +259,26 @@ class InternalActorTest {
         assertFalse(internalActor.watchers.contains(childActorRef));
     }
 
+    @Test
+    void watchersAreAllocatedOnFirstWatch() {
+        assertNull(internalActor.watchers);
+        internalActor.removeWatcher(childActorRef);
+        internalActor.addWatcher(childActorRef);
+        assertEquals(1, internalActor.watchers.size());
+    }
+
+    @Test
+    void publishWithCompactMailbox() throws Exception {
+        when(actorCreationConfig.getMailboxConfig()).thenReturn(MailboxConfig.defaultMailbox().withCompactFootprint());
+        InternalActor compactActor = InternalActor.create(actorSupplier, actorCreationConfig);
+        doNothing().when(receiver).process(MESSAGE, null);
+
+        compactActor.publish(MESSAGE);
+        compactActor.publish(MESSAGE);
+
+        verify(receiver, times(2)).process(MESSAGE, null);
+    }
+
     @Test
     void getActorFailureHandler() {
         assertEquals(internalActor.getActorFailureHandler(), oneForOneBackoffActorFailureHandler);
@@ -4,6 +4,7 @@ import com.atlassian.actor.model.ErrorData;
 import com.atlassian.actor.model.SupervisorStrategyDirective;
 import com.atlassian.actor.supervision.restart.config.ExponentialBackoffRestartConfig;
 import com.atlassian.actor.supervision.restart.config.FixedBackoffRestartConfig;
+import com.atlassian.actor.supervision.restart.config.Jitter;
 import com.atlassian.actor.supervision.strategy.OneForOneBackoffSupervisorStrategy;
 import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
 import org.junit.jupiter.api.Test;
@@ -83,6 +84,24 @@ class OneForOneBackoffActorFailureHandlerTest extends BaseActorFailureHandlerTes
         verify(internalActor, times(1)).terminate();
     }
 
+    @Test
+    void concurrentFailuresAreCoalescedIntoOneRestart() throws InterruptedException {
+        ExponentialBackoffRestartConfig exponentialBackoffRestartConfig = new ExponentialBackoffRestartConfig(
+                3, Duration.ofMillis(50), Duration.ofMillis(50), Duration.ofMillis(1000), Jitter.FULL);
+        parentOneForOneBackoffSupervisorStrategy = new OneForOneBackoffSupervisorStrategy(exponentialBackoffRestartConfig, (lastRestartCount, e) -> parentSupervisorStrategyDirective);
+        setUp();
+        ErrorData first = new ErrorData(new Throwable("first"), "errorMessage", actorRef);
+        ErrorData second = new ErrorData(new Throwable("second"), "errorMessage", actorRef);
+
+        actorFailureHandler.handle(first);
+        actorFailureHandler.handle(second);
+        Thread.sleep(200);
+
+        verify(internalActor, times(2)).pause();
+        verify(internalActor, times(1)).restart(first);
+        verify(internalActor, times(0)).restart(second);
+    }
+
     @Test
     void testOneForOneSupervisorStrategyWithExponentialBackoffAndResetRestartCount() throws InterruptedException {
         ExponentialBackoffRestartConfig exponentialBackoffRestartConfig = new ExponentialBackoffRestartConfig(
@@ -0,0 +1,225 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorSystemConfig;
+import com.atlassian.actor.config.MailboxConfig;
+import com.atlassian.actor.exceptions.QueueOverflowException;
+import com.atlassian.actor.model.OverflowStrategy;
+import com.atlassian.actor.model.PoisonPill;
+import com.atlassian.actor.model.ReplyFailed;
+import com.atlassian.actor.model.TellResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OverflowStrategyTest {
+    private static final int QUEUE_SIZE = 4;
+    private static final int MAX_MESSAGES = 10_000;
+    private static final String URGENT = "urgent";
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private final List<Object> processed = new CopyOnWriteArrayList<>();
+    private ActorSystem actorSystem;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.create("OverflowSystem", new ActorSystemConfig(Schedulers.boundedElastic()));
+    }
+
+    @AfterEach
+    void cleanup() {
+        gate.countDown();
+        actorSystem.terminate();
+    }
+
+    @Test
+    void failStrategyReturnsMailboxFullAndTellThrows() {
+        ActorRef actorRef = createActor(MailboxConfig.defaultMailbox());
+        int accepted = fillMailbox(actorRef, TellResult.MAILBOX_FULL);
+
+        assertTrue(accepted >= QUEUE_SIZE);
+        assertEquals(TellResult.MAILBOX_FULL, actorRef.tryTell("rejected"));
+        assertThrows(QueueOverflowException.class, () -> actorRef.tell("rejected"));
+    }
+
+    @Test
+    void dropNewestStrategyDropsPublishedMessage() throws InterruptedException {
+        ActorRef actorRef = createActor(MailboxConfig.defaultMailbox().withOverflowStrategy(OverflowStrategy.DROP_NEWEST));
+        int accepted = fillMailbox(actorRef, TellResult.DROPPED);
+
+        actorRef.tell("dropped");
+        gate.countDown();
+        waitForProcessing(actorRef);
+
+        assertEquals(accepted, processed.size());
+        assertFalse(processed.contains("dropped"));
+    }
+
+    @Test
+    void droppedBlockingAskThrowsInsteadOfTimingOut() {
+        ActorRef actorRef = createActor(MailboxConfig.defaultMailbox().withOverflowStrategy(OverflowStrategy.DROP_NEWEST));
+        fillMailbox(actorRef, TellResult.DROPPED);
+
+        assertThrows(QueueOverflowException.class, () -> actorRef.ask("dropped", 60_000));
+    }
+
+    @Test
+    void rejectedNonBlockingAskRepliesFailureInsteadOfThrowing() throws InterruptedException {
+        ActorRef actorRef = createActor(MailboxConfig.defaultMailbox());
+        fillMailbox(actorRef, TellResult.MAILBOX_FULL);
+        BlockingQueue<Object> replies = new LinkedBlockingQueue<>();
+        ActorRef replyTo = actorSystem.actorOf(() -> new AbstractActor() {
+            @Override
+            public void preStart() {
+            }
+
+            @Override
+            public Receive createReceive() {
+                return ReceiveBuilder.create().matchAny((m, r) -> replies.add(m)).build();
+            }
+
+            @Override
+            public void postStop() {
+            }
+        }, new ActorConfig("ReplyTo"));
+
+        actorRef.ask("rejected", Duration.ofMinutes(1), replyTo);
+
+        Object reply = replies.poll(5, TimeUnit.SECONDS);
+        assertInstanceOf(ReplyFailed.class, reply);
+        assertInstanceOf(QueueOverflowException.class, ((ReplyFailed) reply).getError());
+    }
+
+    @Test
+    void dropOldestStrategyKeepsLatestMessages() throws InterruptedException {
+        ActorRef actorRef = createActor(MailboxConfig.defaultMailbox().withOverflowStrategy(OverflowStrategy.DROP_OLDEST));
+        int published = 0;
+        for (; published < MAX_MESSAGES; published++) {
+            assertEquals(TellResult.ACCEPTED, actorRef.tryTell(published));
+        }
+        gate.countDown();
+        waitForProcessing(actorRef);
+
+        assertTrue(processed.size() < published);
+        assertTrue(processed.contains(published - 1));
+    }
+
+    @Test
+    void dropOldestStrategyKeepsHighPriorityMessages() throws InterruptedException {
+        ActorRef actorRef = createActor(MailboxConfig.priorityMailbox(2, m -> URGENT.equals(m) ? 0 : 1)
+                .withOverflowStrategy(OverflowStrategy.DROP_OLDEST));
+        // the actor blocks on the first message, so the urgent one stays in the mailbox.
+        actorRef.tell(-1);
+        Thread.sleep(50);
+        assertEquals(TellResult.ACCEPTED, actorRef.tryTell(URGENT));
+        for (int i = 0; i < MAX_MESSAGES; i++) {
+            assertEquals(TellResult.ACCEPTED, actorRef.tryTell(i));
+        }
+        gate.countDown();
+        waitForProcessing(actorRef);
+
+        assertTrue(processed.contains(URGENT));
+        assertTrue(processed.contains(MAX_MESSAGES - 1));
+    }
+
+    @Test
+    void deadLetterStrategy() {
+        ActorRef actorRef = createActor(MailboxConfig.defaultMailbox().withOverflowStrategy(OverflowStrategy.DEAD_LETTER));
+        fillMailbox(actorRef, TellResult.DEAD_LETTER);
+        assertEquals(TellResult.DEAD_LETTER, actorRef.tryTell("deadLetter"));
+    }
+
+    @Test
+    void blockStrategyWaitsForRoom() throws InterruptedException {
+        ActorRef actorRef = createActor(MailboxConfig.defaultMailbox().withBlockingOverflow(Duration.ofMillis(50)));
+        fillMailbox(actorRef, TellResult.MAILBOX_FULL);
+
+        Schedulers.parallel().schedule(gate::countDown, 10, TimeUnit.MILLISECONDS);
+        TellResult result = TellResult.MAILBOX_FULL;
+        for (int i = 0; i < 100 && result == TellResult.MAILBOX_FULL; i++) {
+            result = actorRef.tryTell("blocked");
+        }
+        assertEquals(TellResult.ACCEPTED, result);
+    }
+
+    @Test
+    void terminatedActorReturnsDeadLetter() throws InterruptedException {
+        ActorRef actorRef = createActor(MailboxConfig.defaultMailbox());
+        gate.countDown();
+        actorRef.tell(PoisonPill.getInstance());
+        for (int i = 0; i < 100 && !actorRef.isTerminated(); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(TellResult.DEAD_LETTER, actorRef.tryTell("deadLetter"));
+    }
+
+    private ActorRef createActor(MailboxConfig mailboxConfig) {
+        return actorSystem.actorOf(
+                () -> new GatedActor(gate, processed),
+                new ActorConfig("GatedActor", Collections.emptyList(), QUEUE_SIZE, mailboxConfig)
+        );
+    }
+
+    private int fillMailbox(ActorRef actorRef, TellResult expectedOverflowResult) {
+        for (int i = 0; i < MAX_MESSAGES; i++) {
+            TellResult result = actorRef.tryTell(i);
+            if (!result.isAccepted()) {
+                assertEquals(expectedOverflowResult, result);
+                return i;
+            }
+        }
+        throw new AssertionError("Mailbox never overflowed");
+    }
+
+    private void waitForProcessing(ActorRef actorRef) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        while (!actorRef.tryTell(done).isAccepted()) {
+            Thread.sleep(1);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    private static class GatedActor extends AbstractActor {
+        private final CountDownLatch gate;
+        private final List<Object> processed;
+
+        GatedActor(CountDownLatch gate, List<Object> processed) {
+            this.gate = gate;
+            this.processed = processed;
+        }
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(CountDownLatch.class, (m, r) -> m.countDown())
+                    .matchAny((m, r) -> {
+                        gate.await();
+                        processed.add(m);
+                    })
+                    .build();
+        }
+
+        @Override
+        public void postStop() {
+        }
+    }
+}
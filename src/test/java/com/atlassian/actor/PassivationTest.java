@@ -0,0 +1,127 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.MailboxConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PassivationTest {
+    private static final Duration PASSIVATION_TIMEOUT = Duration.ofMillis(100);
+    private final AtomicInteger incarnations = new AtomicInteger();
+    private final AtomicInteger stops = new AtomicInteger();
+    private ActorSystem actorSystem;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void idleActorIsPassivatedAndReactivatedOnNextMessage() throws Exception {
+        ActorRef actorRef = actorSystem.actorOf(EchoActor::new, passivatingConfig("EchoActor"));
+        assertEquals("ping", actorRef.ask("ping", 1000));
+
+        waitUntilPassivated(actorRef);
+        assertEquals(1, stops.get());
+        assertTrue(actorRef.isRunning());
+        assertFalse(actorRef.isTerminated());
+
+        assertEquals("pong", actorRef.ask("pong", 1000));
+        assertEquals(2, incarnations.get());
+        assertFalse(((ActorRefImpl) actorRef).isPassivated());
+    }
+
+    @Test
+    void passivatedActorIsEvictedFromSelectionUntilReactivated() throws Exception {
+        ActorRef actorRef = actorSystem.actorOf(EchoActor::new, passivatingConfig("EchoActor"));
+        assertEquals(actorRef, actorSystem.select(actorRef.getPath()));
+
+        waitUntilPassivated(actorRef);
+        assertNull(actorSystem.select(actorRef.getPath()));
+
+        assertEquals("ping", actorRef.ask("ping", 1000));
+        assertEquals(actorRef, actorSystem.select(actorRef.getPath()));
+    }
+
+    @Test
+    void watchedActorIsNotPassivated() throws Exception {
+        ActorRef actorRef = actorSystem.actorOf(EchoActor::new, passivatingConfig("EchoActor"));
+        ActorRef watcher = actorSystem.actorOf(EchoActor::new, new ActorConfig("Watcher"));
+        watcher.watch(actorRef);
+        assertEquals("ping", actorRef.ask("ping", 1000));
+
+        Thread.sleep(PASSIVATION_TIMEOUT.toMillis() * 5);
+
+        assertFalse(((ActorRefImpl) actorRef).isPassivated());
+        assertEquals(0, stops.get());
+    }
+
+    @Test
+    void passivatedActorIsNotReactivatedAfterSystemTermination() throws Exception {
+        ActorRef actorRef = actorSystem.actorOf(EchoActor::new, passivatingConfig("EchoActor"));
+        assertEquals("ping", actorRef.ask("ping", 1000));
+        waitUntilPassivated(actorRef);
+
+        actorSystem.terminate();
+        actorRef.tell("ping");
+
+        assertEquals(1, incarnations.get());
+        assertTrue(actorRef.isTerminated());
+    }
+
+    private ActorConfig passivatingConfig(String name) {
+        return new ActorConfig(name, emptyList(), Integer.MAX_VALUE, MailboxConfig.defaultMailbox(), PASSIVATION_TIMEOUT);
+    }
+
+    private void waitUntilPassivated(ActorRef actorRef) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!((ActorRefImpl) actorRef).isPassivated() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(((ActorRefImpl) actorRef).isPassivated());
+    }
+
+    private class EchoActor extends AbstractActor {
+
+        EchoActor() {
+            incarnations.incrementAndGet();
+        }
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public void postStop() {
+            stops.incrementAndGet();
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(String.class, (message, responder) -> {
+                        if (responder != null) {
+                            responder.setObject(message);
+                        }
+                    })
+                    .build();
+        }
+    }
+}
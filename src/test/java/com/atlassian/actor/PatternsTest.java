@@ -0,0 +1,122 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.model.AskTimeout;
+import com.atlassian.actor.model.ReplyFailed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PatternsTest {
+    private final BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+    private ActorSystem actorSystem;
+    private ActorRef recorder;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem();
+        recorder = actorSystem.actorOf(RecordingActor::new, new ActorConfig("Recorder"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void pipesCompletedFuture() throws InterruptedException {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Patterns.pipeTo(future, recorder);
+        future.complete("result");
+        assertEquals("result", received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void pipesFailedFuture() throws InterruptedException {
+        IllegalStateException error = new IllegalStateException("failed");
+        Patterns.pipeTo(CompletableFuture.supplyAsync(() -> {
+            throw error;
+        }), recorder);
+        Object message = received.poll(5, TimeUnit.SECONDS);
+        assertInstanceOf(ReplyFailed.class, message);
+        assertEquals(error, ((ReplyFailed) message).getError());
+    }
+
+    @Test
+    void pipesMono() throws InterruptedException {
+        Patterns.pipeTo(Mono.just("value").delayElement(Duration.ofMillis(10)), recorder);
+        assertEquals("value", received.poll(5, TimeUnit.SECONDS));
+
+        Patterns.pipeTo(Mono.error(new IllegalStateException("failed")), recorder);
+        assertInstanceOf(ReplyFailed.class, received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void askDeliversReplyToMailbox() throws InterruptedException {
+        ActorRef echo = actorSystem.actorOf(EchoActor::new, new ActorConfig("Echo"));
+        echo.ask("question", Duration.ofSeconds(5), recorder);
+        assertEquals("question", received.poll(5, TimeUnit.SECONDS));
+        // the timeout is not delivered once the reply arrived.
+        assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void askDeliversTimeoutWhenThereIsNoReply() throws InterruptedException {
+        ActorRef silent = actorSystem.actorOf(RecordingActor::new, new ActorConfig("Silent"));
+        silent.ask("question", Duration.ofMillis(50), recorder);
+        // the silent actor records the question, then the recorder gets the timeout.
+        assertEquals("question", received.poll(5, TimeUnit.SECONDS));
+        Object message = received.poll(5, TimeUnit.SECONDS);
+        assertInstanceOf(AskTimeout.class, message);
+        assertEquals("question", ((AskTimeout) message).getRequest());
+    }
+
+    private class RecordingActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .matchAny((m, r) -> received.add(m))
+                    .build();
+        }
+
+        @Override
+        public void postStop() {
+        }
+    }
+
+    private static class EchoActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .matchAny((m, r) -> r.setObject(m))
+                    .build();
+        }
+
+        @Override
+        public void postStop() {
+        }
+    }
+}
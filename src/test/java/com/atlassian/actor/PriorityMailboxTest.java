@@ -0,0 +1,105 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.mailbox.PriorityMailbox;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriorityMailboxTest {
+    private static final String HEALTH_CHECK = "healthCheck";
+    private static final String CANCEL = "cancel";
+    private PriorityMailbox mailbox;
+
+    @BeforeEach
+    void setUp() {
+        mailbox = new PriorityMailbox(5, 3, m -> {
+            if (HEALTH_CHECK.equals(m)) {
+                return 0;
+            } else if (CANCEL.equals(m)) {
+                return 1;
+            }
+            return 2;
+        });
+    }
+
+    @Test
+    void pollReturnsHighestPriorityFirst() {
+        mailbox.offer("bulk1");
+        mailbox.offer(CANCEL);
+        mailbox.offer("bulk2");
+        mailbox.offer(HEALTH_CHECK);
+
+        assertEquals(HEALTH_CHECK, mailbox.peek());
+        assertEquals(List.of(HEALTH_CHECK, CANCEL, "bulk1", "bulk2"), drain());
+        assertNull(mailbox.poll());
+        assertTrue(mailbox.isEmpty());
+    }
+
+    @Test
+    void fifoWithinBand() {
+        for (int i = 0; i < 5; i++) {
+            mailbox.offer(i);
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4), drain());
+    }
+
+    @Test
+    void offerFailsWhenFull() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(mailbox.offer(i));
+        }
+        assertFalse(mailbox.offer(HEALTH_CHECK));
+        assertEquals(5, mailbox.size());
+
+        mailbox.poll();
+        assertTrue(mailbox.offer(HEALTH_CHECK));
+        assertEquals(HEALTH_CHECK, mailbox.poll());
+    }
+
+    @Test
+    void outOfRangeBandsAreClamped() {
+        PriorityMailbox clampedMailbox = new PriorityMailbox(Integer.MAX_VALUE, 2, m -> (Integer) m);
+        clampedMailbox.offer(10);
+        clampedMailbox.offer(-10);
+        assertEquals(-10, clampedMailbox.poll());
+        assertEquals(10, clampedMailbox.poll());
+    }
+
+    @Test
+    void iteratesInProcessingOrder() {
+        mailbox.offer("bulk1");
+        mailbox.offer(HEALTH_CHECK);
+        List<Object> messages = new ArrayList<>(mailbox);
+        assertEquals(List.of(HEALTH_CHECK, "bulk1"), messages);
+        assertEquals(2, mailbox.size());
+    }
+
+    @Test
+    void removeOldestOfLowestPriorityKeepsHighPriorityMessages() {
+        mailbox.offer(HEALTH_CHECK);
+        mailbox.offer(CANCEL);
+        mailbox.offer("bulk1");
+        mailbox.offer("bulk2");
+
+        assertEquals("bulk1", mailbox.removeOldestOfLowestPriority(m -> true));
+        assertEquals(CANCEL, mailbox.removeOldestOfLowestPriority(m -> !"bulk2".equals(m)));
+        assertNull(mailbox.removeOldestOfLowestPriority(m -> false));
+        assertEquals(List.of(HEALTH_CHECK, "bulk2"), drain());
+    }
+
+    private List<Object> drain() {
+        List<Object> messages = new ArrayList<>();
+        Object message;
+        while ((message = mailbox.poll()) != null) {
+            messages.add(message);
+        }
+        return messages;
+    }
+}
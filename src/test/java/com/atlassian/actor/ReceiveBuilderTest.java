@@ -7,6 +7,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,4 +33,38 @@ class ReceiveBuilderTest {
         }).build();
         assertEquals(4, receiveBuilder.matches.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void guardedMatchesAreTriedInOrderForTheirType() throws Exception {
+        List<String> processed = new ArrayList<>();
+        receiver = receiveBuilder
+                .match(Integer.class, i -> i < 0, (m, r) -> processed.add("negative:" + m))
+                .matchEquals("stop", (m, r) -> processed.add("stop"))
+                .match(Integer.class, (m, r) -> processed.add("integer:" + m))
+                .match(String.class, (m, r) -> processed.add("string:" + m))
+                .build();
+
+        receiver.process(-1, null);
+        receiver.process(1, null);
+        receiver.process("stop", null);
+        receiver.process("go", null);
+
+        assertEquals(Arrays.asList("negative:-1", "integer:1", "stop", "string:go"), processed);
+    }
+
+    @Test
+    void unhandledMessagesGoToMatchUnhandled() throws Exception {
+        List<Object> unhandled = new ArrayList<>();
+        receiver = receiveBuilder
+                .match(String.class, s -> s.isEmpty(), (m, r) -> {
+                })
+                .matchUnhandled((m, r) -> unhandled.add(m))
+                .build();
+
+        receiver.process("", null);
+        receiver.process("not empty", null);
+        receiver.process(1, null);
+
+        assertEquals(Arrays.asList("not empty", 1), unhandled);
+    }
+}
@@ -57,4 +57,34 @@ class ReceiveTest {
         receiver.process(longMessage, null);
         verify(stringConsumer, times(0)).accept(any(), eq(null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void processMatchesSuperType() throws Exception {
+        List<MatchTuple> matchTuples = new ArrayList<>();
+        matchTuples.add(new MatchTuple(Number.class, integerConsumer));
+        matchTuples.add(new MatchTuple(Object.class, stringConsumer));
+        Receive typedReceiver = new Receive(matchTuples);
+
+        typedReceiver.process(1L, null);
+        typedReceiver.process(2, null);
+        typedReceiver.process("stringMessage", null);
+
+        verify(integerConsumer, times(1)).accept(1L, null);
+        verify(integerConsumer, times(1)).accept(2, null);
+        verify(stringConsumer, times(1)).accept("stringMessage", null);
+    }
+
+    @Test
+    void processKeepsOrderOfPredicateAndTypeMatches() throws Exception {
+        List<MatchTuple> matchTuples = new ArrayList<>();
+        matchTuples.add(new MatchTuple(message -> "special".equals(message), stringConsumer));
+        matchTuples.add(new MatchTuple(String.class, integerConsumer));
+        Receive mixedReceiver = new Receive(matchTuples);
+
+        mixedReceiver.process("special", null);
+        mixedReceiver.process("regular", null);
+
+        verify(stringConsumer, times(1)).accept("special", null);
+        verify(integerConsumer, times(1)).accept("regular", null);
+    }
+}
@@ -0,0 +1,75 @@
+package com.atlassian.actor;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponderTest {
+
+    @Test
+    void returnsObjectSetBeforeWait() throws Exception {
+        Responder responder = new Responder();
+        responder.setObject("reply");
+        assertEquals("reply", responder.getObject());
+        assertEquals("reply", responder.waitForObject(100L));
+    }
+
+    @Test
+    void wakesUpWaiterWhenObjectIsSet() throws Exception {
+        Responder responder = new Responder();
+        Schedulers.parallel().schedule(() -> responder.setObject("reply"), 20, TimeUnit.MILLISECONDS);
+        assertEquals("reply", responder.waitForObject(5000L));
+    }
+
+    @Test
+    void timesOutWhenObjectIsNotSet() {
+        Responder responder = new Responder();
+        assertNull(responder.getObject());
+        assertThrows(TimeoutException.class, () -> responder.waitForObject(10L));
+    }
+
+    @Test
+    void failsOnNullObject() {
+        Responder responder = new Responder();
+        responder.setObject(null);
+        Exception exception = assertThrows(Exception.class, () -> responder.waitForObject(100L));
+        assertEquals("Null object set on data latch", exception.getMessage());
+    }
+
+    @Test
+    void waitThrowsTheErrorOfAFailedRequest() {
+        Responder responder = new Responder();
+        IllegalStateException error = new IllegalStateException("rejected");
+        responder.fail(error);
+        assertThrows(IllegalStateException.class, () -> responder.setObject("reply"));
+        assertSame(error, assertThrows(IllegalStateException.class, () -> responder.waitForObject(100L)));
+    }
+
+    @Test
+    void canBeSetAndWaitedOnlyOnce() throws Exception {
+        Responder responder = new Responder();
+        responder.setObject("reply");
+        assertThrows(IllegalStateException.class, () -> responder.setObject("other"));
+        assertEquals("reply", responder.waitForObject(100L));
+        assertThrows(IllegalStateException.class, () -> responder.waitForObject(100L));
+    }
+
+    @Test
+    void carriesAttachedRequest() {
+        Responder responder = new Responder();
+        assertFalse(responder.isAttached());
+        responder.attach("request");
+        assertTrue(responder.isAttached());
+        assertEquals("request", responder.getRequest());
+        assertThrows(IllegalStateException.class, () -> responder.attach("other"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.supervision.RestartHistory;
+import com.atlassian.actor.supervision.restart.config.ImmediateMaxRestartConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestartHistoryTest {
+
+    @Test
+    void countsRestartsPerExceptionClass() {
+        RestartHistory history = new RestartHistory(3, null);
+        history.record(IllegalStateException.class);
+        history.record(IllegalStateException.class);
+        history.record(IllegalArgumentException.class);
+
+        assertEquals(2, history.count(IllegalStateException.class));
+        assertEquals(1, history.count(IllegalArgumentException.class));
+        assertEquals(0, history.count(NullPointerException.class));
+    }
+
+    @Test
+    void countIsBoundedByMaxRestarts() {
+        RestartHistory history = new RestartHistory(3, null);
+        for (int i = 0; i < 100; i++) {
+            history.record(IllegalStateException.class);
+        }
+
+        assertEquals(3, history.count(IllegalStateException.class));
+    }
+
+    @Test
+    void countsMoreRestartsThanInitiallyKept() {
+        // well beyond the restart times allocated upfront, the history must still reach maxRestarts.
+        int maxRestarts = 2000;
+        RestartHistory history = new RestartHistory(maxRestarts, null);
+        RestartHistory windowed = new RestartHistory(maxRestarts, Duration.ofMinutes(1));
+        for (int i = 0; i < 1500; i++) {
+            history.record(IllegalStateException.class);
+            windowed.record(IllegalStateException.class);
+        }
+        assertEquals(1500, history.count(IllegalStateException.class));
+        assertEquals(1500, windowed.count(IllegalStateException.class));
+
+        for (int i = 0; i < 1000; i++) {
+            history.record(IllegalStateException.class);
+            windowed.record(IllegalStateException.class);
+        }
+        assertEquals(maxRestarts, history.count(IllegalStateException.class));
+        assertEquals(maxRestarts, windowed.count(IllegalStateException.class));
+    }
+
+    @Test
+    void restartsOutsideWindowDontCount() throws InterruptedException {
+        RestartHistory history = RestartHistory.create(new ImmediateMaxRestartConfig(3, Duration.ofMillis(50)));
+        history.record(IllegalStateException.class);
+        history.record(IllegalStateException.class);
+        Thread.sleep(100);
+        history.record(IllegalStateException.class);
+
+        assertEquals(1, history.count(IllegalStateException.class));
+    }
+
+    @Test
+    void resetIfIdle() throws InterruptedException {
+        RestartHistory history = new RestartHistory(3, null);
+        assertNull(history.sinceLastRestart(IllegalStateException.class));
+        history.record(IllegalStateException.class);
+
+        assertFalse(history.resetIfIdle(IllegalStateException.class, Duration.ofSeconds(10)));
+        Thread.sleep(50);
+        assertNotNull(history.sinceLastRestart(IllegalStateException.class));
+        assertTrue(history.resetIfIdle(IllegalStateException.class, Duration.ofMillis(10)));
+        assertEquals(0, history.count(IllegalStateException.class));
+        assertNull(history.sinceLastRestart(IllegalStateException.class));
+    }
+}
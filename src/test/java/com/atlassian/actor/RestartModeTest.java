@@ -0,0 +1,136 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.model.RestartMode;
+import com.atlassian.actor.model.SupervisorStrategyDirective;
+import com.atlassian.actor.supervision.strategy.OneForOneSupervisorStrategy;
+import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestartModeTest {
+    private final AtomicInteger instances = new AtomicInteger();
+    private final AtomicInteger starts = new AtomicInteger();
+    private final AtomicInteger resets = new AtomicInteger();
+    private ActorSystem actorSystem;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void recreateModeCreatesNewInstance() throws Exception {
+        ActorRef child = createChild(new OneForOneSupervisorStrategy(e -> SupervisorStrategyDirective.RESTART));
+        child.tell("cache");
+
+        child.tell("fail");
+
+        assertEquals(2, instances.get());
+        assertEquals(2, starts.get());
+        assertEquals(0, resets.get());
+        assertEquals(0, child.ask("size", 1000));
+    }
+
+    @Test
+    void resetModeKeepsInstanceAndItsState() throws Exception {
+        ActorRef child = createChild(new OneForOneSupervisorStrategy(e -> SupervisorStrategyDirective.RESTART)
+                .withRestartMode(RestartMode.RESET));
+        child.tell("cache");
+
+        child.tell("fail");
+
+        assertEquals(1, instances.get());
+        assertEquals(1, starts.get());
+        assertEquals(1, resets.get());
+        assertEquals(1, child.ask("size", 1000));
+        assertTrue(child.isRunning());
+    }
+
+    @Test
+    void resetModeRevertsToInitialBehaviour() throws Exception {
+        ActorRef child = createChild(new OneForOneSupervisorStrategy(e -> SupervisorStrategyDirective.RESTART)
+                .withRestartMode(RestartMode.RESET));
+        child.tell("become");
+        assertEquals("other", child.ask("size", 1000));
+
+        child.tell(new IllegalStateException("fail"));
+
+        assertEquals(0, child.ask("size", 1000));
+    }
+
+    private ActorRef createChild(SupervisorStrategy strategy) {
+        ActorRef parent = actorSystem.actorOf(() -> new AbstractActor() {
+            @Override
+            public void preStart() {
+            }
+
+            @Override
+            public void postStop() {
+            }
+
+            @Override
+            public Receive createReceive() {
+                return ReceiveBuilder.create().build();
+            }
+
+            @Override
+            public SupervisorStrategy supervisorStrategy() {
+                return strategy;
+            }
+        }, new ActorConfig("parent"));
+        return parent.actorOf(CachingActor::new, new ActorConfig("child"));
+    }
+
+    private class CachingActor extends AbstractActor {
+        private int cached;
+
+        CachingActor() {
+            instances.incrementAndGet();
+        }
+
+        @Override
+        public void preStart() {
+            starts.incrementAndGet();
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public void reset(Throwable reason, Object message) {
+            resets.incrementAndGet();
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .matchEquals("cache", (m, r) -> cached++)
+                    .matchEquals("size", (m, r) -> r.setObject(cached))
+                    .matchEquals("become", (m, r) -> become(ReceiveBuilder.create()
+                            .matchEquals("size", (size, responder) -> responder.setObject("other"))
+                            .match(Exception.class, (e, responder) -> {
+                                throw e;
+                            })
+                            .build()))
+                    .matchEquals("fail", (m, r) -> {
+                        throw new IllegalStateException(m);
+                    })
+                    .build();
+        }
+    }
+}
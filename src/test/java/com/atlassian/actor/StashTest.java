@@ -0,0 +1,211 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.MailboxConfig;
+import com.atlassian.actor.exceptions.ActorTerminatedException;
+import com.atlassian.actor.exceptions.StashOverflowException;
+import com.atlassian.actor.model.PoisonPill;
+import com.atlassian.actor.model.ReplyFailed;
+import com.atlassian.actor.model.SupervisorStrategyDirective;
+import com.atlassian.actor.supervision.restart.config.FixedBackoffRestartConfig;
+import com.atlassian.actor.supervision.strategy.OneForOneBackoffSupervisorStrategy;
+import com.atlassian.actor.supervision.strategy.SupervisorStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StashTest {
+    // processed on the thread of the restart too.
+    private final List<String> processed = Collections.synchronizedList(new ArrayList<>());
+    private final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+    private ActorSystem actorSystem;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void stashedMessagesAreProcessedInOrderBeforeNewMessages() {
+        ActorRef actorRef = actorSystem.actorOf(ReadyActor::new, new ActorConfig("ReadyActor"));
+
+        actorRef.tell("a");
+        actorRef.tell("b");
+        actorRef.tell("ready");
+        actorRef.tell("c");
+
+        assertEquals(Arrays.asList("ready", "a", "b", "c"), processed);
+    }
+
+    @Test
+    void askIsAnsweredAfterUnstash() {
+        ActorRef actorRef = actorSystem.actorOf(ReadyActor::new, new ActorConfig("ReadyActor"));
+        ActorRef replyTo = actorSystem.actorOf(ReplyCollector::new, new ActorConfig("ReplyCollector"));
+
+        actorRef.ask("a", Duration.ofSeconds(1), replyTo);
+        actorRef.tell("ready");
+
+        assertEquals(Arrays.asList("ready", "a", "reply-a"), processed);
+    }
+
+    @Test
+    void stashIsBoundedByQueueSize() {
+        ActorConfig actorConfig = new ActorConfig("ReadyActor", emptyList(), 2, MailboxConfig.defaultMailbox());
+        ActorRef actorRef = actorSystem.actorOf(ReadyActor::new, actorConfig);
+
+        actorRef.tell("a");
+        actorRef.tell("b");
+        actorRef.tell("c");
+        actorRef.tell("ready");
+
+        assertEquals(Arrays.asList("ready", "a", "b"), processed);
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0) instanceof StashOverflowException);
+    }
+
+    @Test
+    void pausedActorKeepsMessagesInTheMailboxWhenItsStashIsFull() throws InterruptedException {
+        SupervisorStrategy strategy = new OneForOneBackoffSupervisorStrategy(new FixedBackoffRestartConfig(3,
+                Duration.ofMillis(100), Duration.ofMillis(100), Duration.ofMillis(100)), (count, error) -> SupervisorStrategyDirective.RESTART);
+        ActorRef parent = actorSystem.actorOf(() -> new AbstractActor() {
+            @Override
+            public void preStart() {
+            }
+
+            @Override
+            public void postStop() {
+            }
+
+            @Override
+            public Receive createReceive() {
+                return ReceiveBuilder.create().build();
+            }
+
+            @Override
+            public SupervisorStrategy supervisorStrategy() {
+                return strategy;
+            }
+        }, new ActorConfig("parent"));
+        ActorRef actorRef = parent.actorOf(ReadyActor::new, new ActorConfig("ReadyActor", emptyList(), 3, MailboxConfig.defaultMailbox()));
+
+        actorRef.tell("a");
+        actorRef.tell("b");
+        actorRef.tell("c");
+        // the stash is full & the actor is paused until it's restarted with the stash.
+        actorRef.tell("fail");
+        actorRef.tell("ready");
+        actorRef.tell("d");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (processed.size() < 5 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Arrays.asList("ready", "a", "b", "c", "d"), processed);
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    void stashedAskFailsWhenTheActorTerminates() {
+        ActorRef actorRef = actorSystem.actorOf(ReadyActor::new, new ActorConfig("ReadyActor"));
+        ActorRef replyTo = actorSystem.actorOf(ReplyCollector::new, new ActorConfig("ReplyCollector"));
+
+        actorRef.ask("a", Duration.ofSeconds(10), replyTo);
+        actorRef.tell(PoisonPill.getInstance());
+
+        assertEquals(Arrays.asList("failed-" + ActorTerminatedException.class.getSimpleName()), processed);
+    }
+
+    @Test
+    void unstashKeepsOrderWithPendingUnstashedMessages() {
+        Stash stash = new Stash(10);
+        stash.offer("a");
+        stash.offer("b");
+        stash.unstashAll();
+        assertEquals("a", stash.pollUnstashed());
+        // "b" is still to be drained, the messages stashed since go ahead of it.
+        stash.offer("c");
+        stash.offer("d");
+        stash.unstashAll();
+        stash.offer("e");
+        stash.unstashAll();
+
+        List<Object> drained = new ArrayList<>();
+        stash.drain(drained::add);
+        assertEquals(Arrays.asList("e", "c", "d", "b"), drained);
+        assertTrue(stash.isEmpty());
+    }
+
+    private class ReadyActor extends AbstractActor {
+        private boolean ready;
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(String.class, (message, responder) -> {
+                        if ("fail".equals(message)) {
+                            throw new IllegalStateException(message);
+                        } else if ("ready".equals(message)) {
+                            ready = true;
+                            processed.add(message);
+                            unstashAll();
+                        } else if (!ready) {
+                            try {
+                                stash();
+                            } catch (StashOverflowException e) {
+                                failures.add(e);
+                            }
+                        } else {
+                            processed.add(message);
+                            if (responder != null) {
+                                responder.setObject(message);
+                            }
+                        }
+                    })
+                    .build();
+        }
+    }
+
+    private class ReplyCollector extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(String.class, (message, responder) -> processed.add("reply-" + message))
+                    .match(ReplyFailed.class, (message, responder) -> processed.add("failed-" + message.getError().getClass().getSimpleName()))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorSystemConfig;
+import com.atlassian.actor.config.MailboxConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the allocation free tell path. Messages are published while the actor is busy, so only the publishing side
+ * is measured on the test thread.
+ */
+class TellAllocationTest {
+    private static final int TELLS = 10_000;
+    private static final int WARMUP_ROUNDS = 20;
+    private final Object[] messages = new Object[TELLS];
+    private ActorSystem actorSystem;
+    private volatile CountDownLatch blocked;
+    private volatile CountDownLatch gate;
+    private volatile CountDownLatch drained;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.create("AllocationSystem", new ActorSystemConfig(Schedulers.boundedElastic()));
+        for (int i = 0; i < TELLS; i++) {
+            messages[i] = new Object();
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (gate != null) {
+            gate.countDown();
+        }
+        actorSystem.terminate();
+    }
+
+    @Test
+    void tellDoesNotAllocateWithPreallocatedMailbox() throws Exception {
+        ActorRef actorRef = actorSystem.actorOf(
+                BusyActor::new,
+                new ActorConfig("BusyActor", Collections.emptyList(), TELLS * 2,
+                        MailboxConfig.defaultMailbox().withPreallocatedSlots())
+        );
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            tellRound(actorRef);
+        }
+        long allocatedBytes = tellRound(actorRef);
+
+        assertTrue(allocatedBytes < TELLS, "tell allocated " + allocatedBytes + " bytes for " + TELLS + " messages");
+    }
+
+    @Test
+    void preallocatedMailboxNeedsBoundedQueue() {
+        assertThrows(IllegalArgumentException.class, () -> actorSystem.actorOf(
+                BusyActor::new,
+                new ActorConfig("BusyActor", Collections.emptyList(), Integer.MAX_VALUE,
+                        MailboxConfig.defaultMailbox().withPreallocatedSlots())
+        ));
+    }
+
+    private long tellRound(ActorRef actorRef) throws InterruptedException {
+        blocked = new CountDownLatch(1);
+        gate = new CountDownLatch(1);
+        drained = new CountDownLatch(1);
+        actorRef.tell(Block.INSTANCE);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        long before = allocatedBytes();
+        for (Object message : messages) {
+            actorRef.tell(message);
+        }
+        long allocated = allocatedBytes() - before;
+
+        actorRef.tell(Drained.INSTANCE);
+        gate.countDown();
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+        return allocated;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private enum Block {
+        INSTANCE
+    }
+
+    private enum Drained {
+        INSTANCE
+    }
+
+    private class BusyActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(Block.class, (m, r) -> {
+                        blocked.countDown();
+                        gate.await();
+                    })
+                    .match(Drained.class, (m, r) -> drained.countDown())
+                    .matchAny((m, r) -> {
+                    })
+                    .build();
+        }
+
+        @Override
+        public void postStop() {
+        }
+    }
+}
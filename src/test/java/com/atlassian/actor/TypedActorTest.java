@@ -0,0 +1,104 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TypedActorTest {
+    private final List<String> processed = new ArrayList<>();
+    private ActorSystem actorSystem;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.testSystem();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void protocolMessagesAreHandled() throws Exception {
+        TypedActorRef<CounterCommand> counter = actorSystem.typedActorOf(CounterActor::new, CounterCommand.class,
+                new ActorConfig("CounterActor"));
+
+        counter.tell(new Increment(2));
+        counter.tell(new Increment(3));
+
+        assertEquals(5, counter.ask(new Get(), 1000));
+    }
+
+    @Test
+    void messagesOutsideProtocolAreUnhandled() throws Exception {
+        TypedActorRef<CounterCommand> counter = actorSystem.typedActorOf(CounterActor::new, CounterCommand.class,
+                new ActorConfig("CounterActor"));
+
+        counter.unwrap().tell("not a command");
+        counter.tell(new Increment(1));
+
+        assertEquals(Arrays.asList("increment"), processed);
+        assertEquals(1, counter.ask(new Get(), 1000));
+    }
+
+    @Test
+    void narrowedRefSharesActor() throws Exception {
+        TypedActorRef<CounterCommand> counter = actorSystem.typedActorOf(CounterActor::new, CounterCommand.class,
+                new ActorConfig("CounterActor"));
+        TypedActorRef<Increment> incrementOnly = counter.narrow(Increment.class);
+
+        incrementOnly.tell(new Increment(4));
+
+        assertEquals(counter, incrementOnly);
+        assertEquals(4, counter.ask(new Get(), 1000));
+    }
+
+    private interface CounterCommand {
+    }
+
+    private static final class Increment implements CounterCommand {
+        private final int delta;
+
+        Increment(int delta) {
+            this.delta = delta;
+        }
+    }
+
+    private static final class Get implements CounterCommand {
+    }
+
+    private class CounterActor extends TypedActor<CounterCommand> {
+        private int count;
+
+        CounterActor() {
+            super(CounterCommand.class);
+        }
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public void onMessage(CounterCommand message, Responder responder) {
+            if (message instanceof Increment) {
+                processed.add("increment");
+                count += ((Increment) message).delta;
+            } else if (message instanceof Get) {
+                responder.setObject(count);
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.atlassian.actor;
+
+import com.atlassian.actor.config.ActorConfig;
+import com.atlassian.actor.config.ActorSystemConfig;
+import com.atlassian.actor.model.DeadLetter;
+import com.atlassian.actor.model.PoisonPill;
+import com.atlassian.actor.model.SupervisorStrategyDirective;
+import com.atlassian.actor.supervision.strategy.OneForOneSupervisorStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UnhandledMessageTest {
+    private final List<DeadLetter> deadLetters = new ArrayList<>();
+    private final DefaultUnhandledMessageHandler handler =
+            new DefaultUnhandledMessageHandler(null, Duration.ofMinutes(1), deadLetters::add);
+    private ActorSystem actorSystem;
+
+    @BeforeEach
+    void setUp() {
+        actorSystem = ActorSystem.create("unhandled", new ActorSystemConfig(Schedulers.immediate(), null,
+                new OneForOneSupervisorStrategy(0, e -> SupervisorStrategyDirective.RESTART), handler));
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (!actorSystem.isTerminatingOrTerminated()) {
+            actorSystem.terminate();
+        }
+    }
+
+    @Test
+    void unhandledMessagesAreCountedPerActorAndClass() {
+        ActorRef actorRef = actorSystem.actorOf(StringActor::new, new ActorConfig("StringActor"));
+
+        actorRef.tell("handled");
+        actorRef.tell(1);
+        actorRef.tell(2);
+        actorRef.tell(3L);
+
+        assertEquals(2, handler.getUnhandledCount(actorRef.getPath(), Integer.class));
+        assertEquals(1, handler.getUnhandledCount(actorRef.getPath(), Long.class));
+        assertEquals(0, handler.getUnhandledCount(actorRef.getPath(), String.class));
+    }
+
+    @Test
+    void countsAreRemovedWhenTheActorTerminates() {
+        ActorRef actorRef = actorSystem.actorOf(StringActor::new, new ActorConfig("StringActor"));
+
+        actorRef.tell(1);
+        assertEquals(1, handler.getUnhandledCount(actorRef, Integer.class));
+
+        actorRef.tell(PoisonPill.getInstance());
+
+        assertEquals(0, handler.getUnhandledCount(actorRef, Integer.class));
+        assertEquals(0, handler.getUnhandledCount(actorRef.getPath(), Integer.class));
+    }
+
+    @Test
+    void unhandledMessagesAreForwardedAsDeadLetters() {
+        ActorRef actorRef = actorSystem.actorOf(StringActor::new, new ActorConfig("StringActor"));
+
+        actorRef.tell(1);
+
+        assertEquals(1, deadLetters.size());
+        assertEquals(1, deadLetters.get(0).getMessage());
+        assertSame(actorRef, deadLetters.get(0).getRecipient());
+    }
+
+    @Test
+    void defaultConfigPublishesDeadLettersToTheSystem() {
+        ActorSystem defaultSystem = ActorSystem.testSystem("default-dead-letters");
+        List<DeadLetter> published = new ArrayList<>();
+        Disposable subscription = defaultSystem.getDeadLetters().subscribe(published::add);
+        ActorRef actorRef = defaultSystem.actorOf(StringActor::new, new ActorConfig("StringActor"));
+
+        actorRef.tell(1);
+        subscription.dispose();
+        actorRef.tell(2);
+
+        assertEquals(1, published.size());
+        assertEquals(1, published.get(0).getMessage());
+        assertSame(actorRef, published.get(0).getRecipient());
+        defaultSystem.terminate();
+    }
+
+    @Test
+    void matchUnhandledTakesPrecedenceOverSystemHandler() {
+        List<Object> unhandled = new ArrayList<>();
+        ActorRef actorRef = actorSystem.actorOf(() -> new AbstractActor() {
+            @Override
+            public void preStart() {
+            }
+
+            @Override
+            public void postStop() {
+            }
+
+            @Override
+            public Receive createReceive() {
+                return ReceiveBuilder.create()
+                        .match(String.class, (m, r) -> {
+                        })
+                        .matchUnhandled((m, r) -> unhandled.add(m))
+                        .build();
+            }
+        }, new ActorConfig("OwnUnhandledActor"));
+
+        actorRef.tell(1);
+
+        assertEquals(Arrays.asList(1), unhandled);
+        assertEquals(0, handler.getUnhandledCount(actorRef.getPath(), Integer.class));
+    }
+
+    private static class StringActor extends AbstractActor {
+
+        @Override
+        public void preStart() {
+        }
+
+        @Override
+        public void postStop() {
+        }
+
+        @Override
+        public Receive createReceive() {
+            return ReceiveBuilder.create()
+                    .match(String.class, (m, r) -> {
+                    })
+                    .build();
+        }
+    }
+}
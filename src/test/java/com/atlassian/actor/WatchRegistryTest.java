@@ -0,0 +1,102 @@
+package com.atlassian.actor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class WatchRegistryTest {
+
+    @Test
+    void singleWatcher() {
+        WatchRegistry registry = new WatchRegistry();
+        ActorRef watcher = mock(ActorRef.class);
+
+        assertTrue(registry.add(watcher));
+        assertTrue(registry.add(watcher));
+        assertEquals(1, registry.size());
+        assertTrue(registry.contains(watcher));
+
+        registry.remove(watcher);
+        assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    void manyWatchers() {
+        WatchRegistry registry = new WatchRegistry();
+        List<ActorRef> watchers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ActorRef watcher = mock(ActorRef.class);
+            watchers.add(watcher);
+            registry.add(watcher);
+        }
+        registry.remove(watchers.get(0));
+
+        assertEquals(99, registry.size());
+        assertFalse(registry.contains(watchers.get(0)));
+        assertTrue(registry.contains(watchers.get(99)));
+    }
+
+    @Test
+    void closeNotifiesEachWatcherOnceAndRejectsNewWatchers() {
+        WatchRegistry registry = new WatchRegistry();
+        ActorRef first = mock(ActorRef.class);
+        ActorRef second = mock(ActorRef.class);
+        registry.add(first);
+        registry.add(second);
+
+        List<ActorRef> notified = new ArrayList<>();
+        registry.close(notified::add);
+
+        assertEquals(2, notified.size());
+        assertTrue(notified.contains(first) && notified.contains(second));
+        assertFalse(registry.add(mock(ActorRef.class)));
+        assertFalse(WatchRegistry.closed().add(first));
+    }
+
+    @Test
+    void concurrentWatchAndCloseNotifiesEveryWatcherExactlyOnce() throws Exception {
+        int threads = 8;
+        int watchersPerThread = 1000;
+        WatchRegistry registry = new WatchRegistry();
+        ConcurrentHashMap<ActorRef, AtomicInteger> notifications = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < watchersPerThread; i++) {
+                    ActorRef watcher = mock(ActorRef.class);
+                    notifications.put(watcher, new AtomicInteger());
+                    if (!registry.add(watcher)) {
+                        // rejected watchers are notified by the caller.
+                        notifications.get(watcher).incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        registry.close(watcher -> notifications.get(watcher).incrementAndGet());
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(threads * watchersPerThread, notifications.size());
+        notifications.values().forEach(count -> assertEquals(1, count.get()));
+    }
+}